@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Mede o tempo entre o início do processo e a primeira resposta 200 de GET /products.
+# Uso: measure-startup.sh <rótulo> <execuções> <comando...>
+# Imprime "<rótulo> <mediana_ms> <mínimo_ms> <máximo_ms>" e encerra a aplicação a cada execução.
+set -euo pipefail
+
+label=$1
+runs=$2
+shift 2
+
+url=${STARTUP_URL:-http://localhost:8080/products?size=1}
+timeout_s=${STARTUP_TIMEOUT_S:-120}
+times=()
+
+for ((i = 1; i <= runs; i++)); do
+  start=$(date +%s%N)
+  "$@" >"startup-${label}-${i}.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Aplicação encerrou antes de responder (ver startup-${label}-${i}.log)" >&2
+      exit 1
+    fi
+    if (( ($(date +%s%N) - start) / 1000000000 > timeout_s )); then
+      echo "Sem resposta após ${timeout_s}s (ver startup-${label}-${i}.log)" >&2
+      kill "$pid"
+      exit 1
+    fi
+    sleep 0.02
+  done
+  times+=($(( ($(date +%s%N) - start) / 1000000 )))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
+
+sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+echo "$label ${sorted[$((runs / 2))]} ${sorted[0]} ${sorted[$((runs - 1))]}"
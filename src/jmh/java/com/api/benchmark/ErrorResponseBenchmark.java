@@ -0,0 +1,72 @@
+package com.api.benchmark;
+
+import com.api.dto.ErrorResponse;
+import com.api.exception.ErrorResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de erro: a montagem anterior (ErrorResponse + Jackson e o ObjectMapper novo por 401 do
+ * CustomAuthenticationEntryPoint) comparada ao ErrorResponseWriter. Rodar com {@code -prof gc}
+ * para comparar os bytes alocados por operação (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private static final String PATH = "/products/99";
+    private static final String MESSAGE = "Produto com ID 99 não encontrado.";
+
+    private ObjectMapper objectMapper;
+    private OutputStream sink;
+    private ErrorResponseWriter.Template notFound;
+    private ErrorResponseWriter.Template unauthorized;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        sink = OutputStream.nullOutputStream();
+        notFound = ErrorResponseWriter.template(HttpStatus.NOT_FOUND, "Produto não encontrado");
+        unauthorized = ErrorResponseWriter.template(HttpStatus.UNAUTHORIZED, "Acesso negado",
+                "Você não tem permissão para acessar este recurso.");
+    }
+
+    @Benchmark
+    public void notFoundWithJackson() throws Exception {
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), 404, "Produto não encontrado", MESSAGE, PATH);
+        sink.write(objectMapper.writeValueAsBytes(body));
+    }
+
+    @Benchmark
+    public void notFoundWithWriter() throws Exception {
+        notFound.write(sink, MESSAGE, PATH);
+    }
+
+    @Benchmark
+    public void unauthorizedWithNewObjectMapper() throws Exception {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", System.currentTimeMillis());
+        errorDetails.put("status", 401);
+        errorDetails.put("error", "Acesso negado");
+        errorDetails.put("message", "Você não tem permissão para acessar este recurso.");
+        errorDetails.put("path", PATH);
+        sink.write(new ObjectMapper().writeValueAsString(errorDetails).getBytes());
+    }
+
+    @Benchmark
+    public void unauthorizedWithWriter() throws Exception {
+        unauthorized.write(sink, null, PATH);
+    }
+}
@@ -0,0 +1,89 @@
+package com.api.benchmark;
+
+import com.api.exception.ErrorResponseWriter;
+import com.api.exception.ProductNotFoundException;
+import com.api.exception.ProductOwnershipException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de um 404/403: exceção lançada no fundo de uma pilha com a profundidade típica de uma requisição
+ * (filtros do Spring Security, DispatcherServlet, proxies), capturada no topo e escrita como resposta de erro.
+ * Compara a RuntimeException com stack trace usada antes com as exceções de negócio sem stack trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionCostBenchmark {
+
+    @Param({"20", "150"})
+    public int stackDepth;
+
+    private OutputStream sink;
+    private ErrorResponseWriter.Template notFound;
+    private ErrorResponseWriter.Template forbidden;
+
+    @Setup
+    public void setUp() {
+        sink = OutputStream.nullOutputStream();
+        notFound = ErrorResponseWriter.template(HttpStatus.NOT_FOUND, "Produto não encontrado");
+        forbidden = ErrorResponseWriter.template(HttpStatus.FORBIDDEN, "Acesso negado");
+    }
+
+    @Benchmark
+    public void notFoundWithStackTrace() throws Exception {
+        try {
+            descend(stackDepth, Kind.STACKFUL_NOT_FOUND);
+        } catch (RuntimeException e) {
+            notFound.write(sink, e.getMessage(), "/products/99");
+        }
+    }
+
+    @Benchmark
+    public void notFoundStackless() throws Exception {
+        try {
+            descend(stackDepth, Kind.NOT_FOUND);
+        } catch (ProductNotFoundException e) {
+            notFound.write(sink, e.getMessage(), "/products/99");
+        }
+    }
+
+    @Benchmark
+    public void forbiddenWithStackTrace() throws Exception {
+        try {
+            descend(stackDepth, Kind.STACKFUL_FORBIDDEN);
+        } catch (RuntimeException e) {
+            forbidden.write(sink, e.getMessage(), "/products/99");
+        }
+    }
+
+    @Benchmark
+    public void forbiddenStackless() throws Exception {
+        try {
+            descend(stackDepth, Kind.FORBIDDEN);
+        } catch (ProductOwnershipException e) {
+            forbidden.write(sink, e.getMessage(), "/products/99");
+        }
+    }
+
+    private enum Kind { STACKFUL_NOT_FOUND, NOT_FOUND, STACKFUL_FORBIDDEN, FORBIDDEN }
+
+    private static int descend(int depth, Kind kind) {
+        if (depth == 0) {
+            throw switch (kind) {
+                case STACKFUL_NOT_FOUND -> new RuntimeException("Produto com ID 99 não encontrado.");
+                case NOT_FOUND -> new ProductNotFoundException("Produto com ID 99 não encontrado.");
+                case STACKFUL_FORBIDDEN -> new RuntimeException("Você não tem permissão para modificar este produto.");
+                case FORBIDDEN -> new ProductOwnershipException("Você não tem permissão para modificar este produto.");
+            };
+        }
+        // Soma evita que o JIT transforme a recursão em laço e achate a pilha
+        return descend(depth - 1, kind) + depth;
+    }
+}
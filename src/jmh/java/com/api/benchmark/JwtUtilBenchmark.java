@@ -0,0 +1,41 @@
+package com.api.benchmark;
+
+import com.api.security.JwtProperties;
+import com.api.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de emissão e validação do JWT (executado em toda requisição autenticada).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("segredo-do-benchmark-segredo-do-benchmark");
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateToken("sellerUser", "SELLER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("sellerUser", "SELLER");
+    }
+
+    // Mesmo caminho do JwtAuthenticationFilter: assinatura, expiração e tipo do token
+    @Benchmark
+    public boolean parseToken() {
+        return jwtUtil.isRefreshToken(jwtUtil.parseToken(token));
+    }
+}
@@ -0,0 +1,40 @@
+package com.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do BCrypt no login e no cadastro para cada força (o padrão do SecurityConfig é 10).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("senhaSegura123", encodedPassword);
+    }
+}
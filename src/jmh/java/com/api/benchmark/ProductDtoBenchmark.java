@@ -0,0 +1,67 @@
+package com.api.benchmark;
+
+import com.api.dto.ProductDTO;
+import com.api.enums.Role;
+import com.api.model.Product;
+import com.api.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade -> DTO e serialização Jackson da página retornada por GET /products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductDtoBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Product product;
+    private List<Product> products;
+    private Page<ProductDTO> page;
+
+    @Setup
+    public void setUp() {
+        // Mesma configuração usada pelo Spring Boot nos conversores HTTP
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User seller = new User(1L, "sellerUser", "password", Role.SELLER);
+        product = new Product(1L, "Camiseta Oversized", "Camiseta de algodão premium", new BigDecimal("99.90"), 15, seller);
+
+        products = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            products.add(new Product(i, "Produto " + i, "Descrição do produto " + i, new BigDecimal("10.50").add(BigDecimal.valueOf(i)), (int) i, seller));
+        }
+        page = new PageImpl<>(products.stream().map(ProductDTO::new).toList(), PageRequest.of(0, pageSize), 1000);
+    }
+
+    @Benchmark
+    public ProductDTO constructDto() {
+        return new ProductDTO(product);
+    }
+
+    @Benchmark
+    public Page<ProductDTO> mapPage() {
+        return new PageImpl<>(products, PageRequest.of(0, pageSize), 1000).map(ProductDTO::new);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,109 @@
+package com.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP mínimo para os endpoints usados no teste de carga.
+ */
+class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    int register(String username, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(new Credentials(username, password, "SELLER"));
+        return send(post("/auth/register", body).build()).statusCode();
+    }
+
+    HttpResponse<String> login(String username, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(new Credentials(username, password, null));
+        return send(post("/auth/login", body).build());
+    }
+
+    String token(HttpResponse<String> loginResponse) throws IOException {
+        return objectMapper.readTree(loginResponse.body()).get("token").asText();
+    }
+
+    long createProduct(String token, int index) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(new NewProduct(
+                "Produto " + index, "Produto gerado pelo teste de carga " + index, 10 + (index % 500), 100));
+        HttpResponse<String> response = send(post("/products", body)
+                .header("Authorization", "Bearer " + token)
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao criar produto: " + response.statusCode() + " " + response.body());
+        }
+        JsonNode created = objectMapper.readTree(response.body());
+        return created.get("id").asLong();
+    }
+
+    HttpResponse<String> listProducts(int page, int size) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/products?page=" + page + "&size=" + size)).GET().build());
+    }
+
+    /**
+     * IDs dos produtos de uma página da listagem padrão.
+     */
+    List<Long> productIds(int page, int size) throws IOException, InterruptedException {
+        HttpResponse<String> response = listProducts(page, size);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao listar produtos: " + response.statusCode() + " " + response.body());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode product : objectMapper.readTree(response.body()).get("content")) {
+            ids.add(product.get("id").asLong());
+        }
+        return ids;
+    }
+
+    HttpResponse<String> getProduct(long id) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/products/" + id)).GET().build());
+    }
+
+    HttpResponse<String> patchStock(String token, long id, int quantity) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/products/" + id + "/stock?quantity=" + quantity))
+                .header("Authorization", "Bearer " + token)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record Credentials(String username, String password, String role) {
+    }
+
+    private record NewProduct(String name, String description, double price, int quantity) {
+    }
+}
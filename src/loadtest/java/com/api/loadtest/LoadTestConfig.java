@@ -0,0 +1,86 @@
+package com.api.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Parâmetros do teste de carga, recebidos como argumentos chave=valor.
+ * Ex.: users=50 products=2000 concurrency=64 duration=60 mix=login:5,list:40,get:45,stock:10
+ * Com url=http://host:porta, mede uma instância já em execução (API ou camada reativa) em vez de subir a API:
+ * só leituras (list e get), sobre os produtos que já estão no banco.
+ */
+record LoadTestConfig(int users,
+                      int products,
+                      int concurrency,
+                      int warmupSeconds,
+                      int durationSeconds,
+                      Map<Operation, Integer> mix,
+                      Properties thresholds,
+                      String reportFile,
+                      String url) {
+
+    static LoadTestConfig parse(String[] args) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+
+        Properties thresholds = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest-thresholds.properties")) {
+            if (in != null) {
+                thresholds.load(in);
+            }
+        }
+        values.forEach((key, value) -> {
+            if (key.startsWith("threshold.")) {
+                thresholds.setProperty(key.substring("threshold.".length()), value);
+            }
+        });
+
+        String url = values.get("url");
+        return new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("products", "1000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                parseMix(values.getOrDefault("mix", url != null ? "list:50,get:50" : "login:5,list:40,get:45,stock:10")),
+                thresholds,
+                values.getOrDefault("report", "target/loadtest-report.json"),
+                url
+        );
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Mede uma instância externa (url=) em vez de subir a API.
+     */
+    boolean external() {
+        return url != null;
+    }
+
+    /**
+     * Limite em milissegundos para o percentil informado (ex.: p99), ou -1 se não configurado.
+     */
+    double threshold(Operation operation, String percentile) {
+        return Double.parseDouble(thresholds.getProperty(operation.key() + "." + percentile, "-1"));
+    }
+
+    double maxErrorRate() {
+        return Double.parseDouble(thresholds.getProperty("maxErrorRate", "0"));
+    }
+}
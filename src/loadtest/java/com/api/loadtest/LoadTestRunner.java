@@ -0,0 +1,241 @@
+package com.api.loadtest;
+
+import com.api.ApiRestProdutosApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga ponta a ponta: sobe a API contra H2 (modo PostgreSQL), cria usuários e produtos pelos
+ * endpoints públicos e dispara um mix configurável de login, listagem, busca por ID e alteração de estoque
+ * usando clientes em virtual threads. Ao final imprime p50/p99/p999 e throughput por endpoint e
+ * termina com código 1 se algum limite de regressão for ultrapassado. Com url=, mede uma instância já em
+ * execução (ex.: a API e a camada reativa no mesmo banco) usando os produtos existentes.
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "senhaSegura123";
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<long[]> productsByUser = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+
+    LoadTestRunner(LoadTestConfig config, ApiClient client) {
+        this.config = config;
+        this.client = client;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        if (config.external()) {
+            LoadTestRunner runner = new LoadTestRunner(config, new ApiClient(config.url()));
+            runner.discover();
+            runner.run();
+            System.exit(runner.report() ? 0 : 1);
+        }
+
+        System.setProperty("spring.profiles.active", "loadtest");
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiRestProdutosApplication.class)
+                .properties("server.port=0")
+                .run();
+        boolean passed;
+        try {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadTestRunner runner = new LoadTestRunner(config, new ApiClient("http://localhost:" + port));
+            runner.seed();
+            runner.run();
+            passed = runner.report();
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Cria os sellers e os produtos pelos próprios endpoints de AuthController e ProductController.
+     */
+    void seed() throws Exception {
+        System.out.printf("Criando %d usuários e %d produtos...%n", config.users(), config.products());
+        for (int i = 0; i < config.users(); i++) {
+            String username = "loadtest-seller-" + i;
+            client.register(username, PASSWORD);
+            usernames.add(username);
+            tokens.add(client.token(client.login(username, PASSWORD)));
+        }
+
+        List<List<Long>> owned = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            owned.add(new ArrayList<>());
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<java.util.concurrent.Future<Long>> created = new ArrayList<>();
+            for (int i = 0; i < config.products(); i++) {
+                int index = i;
+                created.add(executor.submit(() -> client.createProduct(tokens.get(index % tokens.size()), index)));
+            }
+            for (int i = 0; i < created.size(); i++) {
+                long id = created.get(i).get();
+                productIds.add(id);
+                owned.get(i % config.users()).add(id);
+            }
+        }
+        for (List<Long> ids : owned) {
+            productsByUser.add(ids.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    /**
+     * Modo externo: sem usuários nem escritas, lê os IDs dos primeiros produtos da listagem.
+     */
+    void discover() throws Exception {
+        for (Operation operation : config.mix().keySet()) {
+            if (operation != Operation.LIST && operation != Operation.GET) {
+                throw new IllegalArgumentException("Com url= o mix aceita apenas list e get: " + operation.key());
+            }
+        }
+        System.out.printf("Lendo até %d produtos de %s...%n", config.products(), config.url());
+        for (int page = 0; productIds.size() < config.products(); page++) {
+            List<Long> ids = client.productIds(page, 100);
+            productIds.addAll(ids);
+            if (ids.size() < 100) {
+                break;
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("Nenhum produto encontrado em " + config.url());
+        }
+    }
+
+    void run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        System.out.printf("Aquecimento de %ds e medição de %ds com %d clientes...%n",
+                config.warmupSeconds(), config.durationSeconds(), config.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                executor.submit(() -> clientLoop(end));
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            stats.values().forEach(EndpointStats::reset);
+        }
+    }
+
+    private void clientLoop(long end) {
+        int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, random).statusCode() / 100 == 2;
+            } catch (Exception e) {
+                success = false;
+            }
+            stats.get(operation).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : config.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix de operações inválido");
+    }
+
+    private HttpResponse<String> execute(Operation operation, ThreadLocalRandom random) throws Exception {
+        int user = usernames.isEmpty() ? 0 : random.nextInt(usernames.size());
+        return switch (operation) {
+            case LOGIN -> client.login(usernames.get(user), PASSWORD);
+            case LIST -> client.listProducts(random.nextInt(Math.max(1, productIds.size() / 20)), 20);
+            case GET -> client.getProduct(productIds.get(random.nextInt(productIds.size())));
+            case STOCK -> {
+                long[] owned = productsByUser.get(user);
+                yield client.patchStock(tokens.get(user), owned[random.nextInt(owned.length)], 1);
+            }
+        };
+    }
+
+    /**
+     * Imprime o resumo, grava o relatório em JSON e verifica os limites de regressão.
+     */
+    boolean report() throws Exception {
+        boolean passed = true;
+        Map<String, Object> json = new LinkedHashMap<>();
+
+        System.out.printf("%n%-8s %10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Operation operation = entry.getKey();
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.count() == 0) {
+                continue;
+            }
+            double throughput = (double) endpoint.count() / config.durationSeconds();
+            System.out.printf("%-8s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    operation.key(), endpoint.count(), throughput, endpoint.percentileMillis(50),
+                    endpoint.percentileMillis(99), endpoint.percentileMillis(99.9), endpoint.maxMillis(), endpoint.errors());
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", endpoint.count());
+            values.put("throughput", throughput);
+            values.put("p50", endpoint.percentileMillis(50));
+            values.put("p99", endpoint.percentileMillis(99));
+            values.put("p999", endpoint.percentileMillis(99.9));
+            values.put("max", endpoint.maxMillis());
+            values.put("errors", endpoint.errors());
+            json.put(operation.key(), values);
+
+            passed &= check(operation, "p99", endpoint.percentileMillis(99));
+            passed &= check(operation, "p999", endpoint.percentileMillis(99.9));
+            if (endpoint.errorRate() > config.maxErrorRate()) {
+                System.out.printf("REGRESSÃO: %s com taxa de erros %.4f (limite %.4f)%n",
+                        operation.key(), endpoint.errorRate(), config.maxErrorRate());
+                passed = false;
+            }
+        }
+
+        File reportFile = new File(config.reportFile());
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, json);
+        System.out.printf("%nRelatório gravado em %s%n", reportFile.getPath());
+        System.out.println(passed ? "Todos os limites respeitados." : "Teste de carga reprovado.");
+        return passed;
+    }
+
+    private boolean check(Operation operation, String percentile, double valueMillis) {
+        double limit = config.threshold(operation, percentile);
+        if (limit >= 0 && valueMillis > limit) {
+            System.out.printf("REGRESSÃO: %s %s = %.2fms (limite %.2fms)%n", operation.key(), percentile, valueMillis, limit);
+            return false;
+        }
+        return true;
+    }
+}
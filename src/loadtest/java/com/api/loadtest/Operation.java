@@ -0,0 +1,15 @@
+package com.api.loadtest;
+
+/**
+ * Tipos de requisição disparados pelo teste de carga.
+ */
+enum Operation {
+    LOGIN,  // POST /auth/login
+    LIST,   // GET /products?page=&size=
+    GET,    // GET /products/{id}
+    STOCK;  // PATCH /products/{id}/stock
+
+    String key() {
+        return name().toLowerCase();
+    }
+}
@@ -1,9 +1,14 @@
 package com.api;
 
+import com.api.config.CacheRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ImportRuntimeHints(CacheRuntimeHints.class)
+@EnableScheduling
 public class ApiRestProdutosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,43 @@
+package com.api.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DriverManager;
+
+/**
+ * Publicador e ouvinte da invalidação do cache de segundo nível entre instâncias.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                                                 CacheInvalidationProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new CacheInvalidationPublisher(jdbcTemplate, properties, meterRegistry);
+    }
+
+    /**
+     * A conexão de escuta fica aberta indefinidamente, então é aberta direto no primário, sem ocupar o pool.
+     */
+    @Bean
+    public CacheInvalidationListener cacheInvalidationListener(DataSourceProperties dataSourceProperties,
+                                                               EntityManagerFactory entityManagerFactory,
+                                                               CacheInvalidationProperties properties,
+                                                               CacheInvalidationPublisher publisher,
+                                                               MeterRegistry meterRegistry) {
+        CacheInvalidationListener.ConnectionFactory connectionFactory = () -> DriverManager.getConnection(
+                dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        return new CacheInvalidationListener(connectionFactory, entityManagerFactory.getCache().unwrap(Cache.class),
+                properties, publisher.getNodeId(), meterRegistry);
+    }
+}
@@ -0,0 +1,190 @@
+package com.api.cache;
+
+import com.api.cache.CacheInvalidationMessage.EntityType;
+import com.api.model.Product;
+import com.api.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Escuta o canal de invalidação numa conexão dedicada ao primário (fora do pool) e remove do cache de segundo
+ * nível local as entidades alteradas por outras instâncias. Ao reconectar, as notificações perdidas no intervalo
+ * não são reenviadas pelo PostgreSQL, então todas as regiões são limpas. Só é iniciado com
+ * app.cache.invalidation.enabled=true; o bean existe sempre para que a opção valha também no jar processado por AOT.
+ */
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    // Cache de consultas de UserRepository.findByUsername
+    static final String USER_BY_USERNAME_QUERY_REGION = "user-by-username-query";
+
+    /**
+     * Abre uma conexão JDBC nova com o primário.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection connect() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final Cache cache;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId;
+    private final Timer lag;
+    private final Map<EntityType, Counter> received = new EnumMap<>(EntityType.class);
+    private final Counter resyncs;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread thread;
+
+    public CacheInvalidationListener(ConnectionFactory connectionFactory, Cache cache,
+                                     CacheInvalidationProperties properties, String nodeId,
+                                     MeterRegistry meterRegistry) {
+        if (!CHANNEL_NAME.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Canal de invalidação inválido: " + properties.getChannel());
+        }
+        this.connectionFactory = connectionFactory;
+        this.cache = cache;
+        this.properties = properties;
+        this.nodeId = nodeId;
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Tempo entre a publicação de uma alteração e a remoção da entrada nesta instância")
+                .register(meterRegistry);
+        for (EntityType type : EntityType.values()) {
+            received.put(type, Counter.builder("cache.invalidation.received")
+                    .description("Alterações de outras instâncias aplicadas ao cache local")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.resyncs = Counter.builder("cache.invalidation.resyncs")
+                .description("Limpezas completas do cache após (re)conectar ao canal de invalidação")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.connected", this, listener -> listener.connected ? 1 : 0)
+                .description("1 enquanto a conexão de escuta está ativa")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        // Depois de qualquer falha, o que chegou enquanto não havia conexão se perdeu
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = connectionFactory.connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                connected = true;
+                if (missedNotifications) {
+                    resync();
+                    missedNotifications = false;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(properties.getPollTimeoutMs());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                missedNotifications = true;
+                if (running) {
+                    log.warn("Conexão de invalidação de cache perdida: {}", e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    /**
+     * Aplica uma mensagem recebida. Mensagens desta instância são ignoradas: o Hibernate já atualizou o cache local.
+     */
+    void handle(String payload) {
+        CacheInvalidationMessage message;
+        try {
+            message = CacheInvalidationMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Mensagem de invalidação ignorada: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        switch (message.type()) {
+            case PRODUCT -> cache.evictEntityData(Product.class, message.id());
+            case USER -> {
+                cache.evictEntityData(User.class, message.id());
+                // O username pode ter mudado: o mapeamento username -> id e a consulta por username ficam inválidos
+                cache.evictNaturalIdData(User.class);
+                cache.evictQueryRegion(USER_BY_USERNAME_QUERY_REGION);
+            }
+        }
+        received.get(message.type()).increment();
+        lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.publishedAtMillis())));
+    }
+
+    void resync() {
+        log.info("Canal de invalidação reconectado; limpando o cache de segundo nível.");
+        cache.evictAllRegions();
+        resyncs.increment();
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getReconnectDelayMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.api.cache;
+
+/**
+ * Alteração de uma entidade publicada no canal de invalidação, no formato {@code tipo:id:instância:epochMillis}.
+ */
+record CacheInvalidationMessage(EntityType type, long id, String origin, long publishedAtMillis) {
+
+    enum EntityType {
+        PRODUCT, USER
+    }
+
+    String encode() {
+        return type.name().toLowerCase() + ":" + id + ":" + origin + ":" + publishedAtMillis;
+    }
+
+    static CacheInvalidationMessage parse(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Mensagem de invalidação inválida: " + payload);
+        }
+        return new CacheInvalidationMessage(EntityType.valueOf(parts[0].toUpperCase()), Long.parseLong(parts[1]),
+                parts[2], Long.parseLong(parts[3]));
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Invalidação do cache de segundo nível entre instâncias via LISTEN/NOTIFY do PostgreSQL
+ * (prefixo app.cache.invalidation).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * Publica as alterações de produtos e usuários e escuta as das outras instâncias. Exige PostgreSQL.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Canal do NOTIFY/LISTEN; precisa ser um identificador simples (letras minúsculas, dígitos e _).
+     */
+    private String channel = "cache_invalidation";
+
+    /**
+     * Tempo máximo (em milissegundos) de espera por notificações a cada ciclo da conexão de escuta.
+     */
+    private int pollTimeoutMs = 500;
+
+    /**
+     * Intervalo (em milissegundos) entre tentativas de reconexão quando a conexão de escuta cai.
+     */
+    private long reconnectDelayMs = 2000;
+}
@@ -0,0 +1,77 @@
+package com.api.cache;
+
+import com.api.cache.CacheInvalidationMessage.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Publica as alterações de produtos e usuários com {@code pg_notify}. Chamado dentro da transação da escrita:
+ * o PostgreSQL só entrega a notificação no commit, e descarta se houver rollback.
+ * Desativado (app.cache.invalidation.enabled=false), não faz nada.
+ */
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<EntityType, Counter> published = new EnumMap<>(EntityType.class);
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, CacheInvalidationProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        for (EntityType type : EntityType.values()) {
+            published.put(type, Counter.builder("cache.invalidation.published")
+                    .description("Alterações publicadas no canal de invalidação")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void productChanged(Long id) {
+        publish(EntityType.PRODUCT, id);
+    }
+
+    /**
+     * Publica a alteração de vários produtos num único comando (importação em massa, que não passa pelo Hibernate).
+     */
+    public void productsChanged(Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        // Mesmo formato de CacheInvalidationMessage.encode, montado pelo banco para cada ID
+        String prefix = EntityType.PRODUCT.name().toLowerCase() + ":";
+        String suffix = ":" + nodeId + ":" + System.currentTimeMillis();
+        String array = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+        jdbcTemplate.query("SELECT pg_notify(?, ? || id || ?) FROM unnest(CAST(? AS BIGINT[])) AS id",
+                rs -> null, properties.getChannel(), prefix, suffix, array);
+        published.get(EntityType.PRODUCT).increment(ids.size());
+    }
+
+    public void userChanged(Long id) {
+        publish(EntityType.USER, id);
+    }
+
+    /**
+     * Identifica esta instância nas mensagens, para que ela ignore as próprias alterações.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(EntityType type, Long id) {
+        if (!properties.isEnabled() || id == null) {
+            return;
+        }
+        String payload = new CacheInvalidationMessage(type, id, nodeId, System.currentTimeMillis()).encode();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, properties.getChannel(), payload);
+        published.get(type).increment();
+    }
+}
@@ -0,0 +1,22 @@
+package com.api.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Hints para a imagem nativa do cache de segundo nível: o Hibernate instancia o provider JCache pelo nome
+ * configurado em hibernate.javax.cache.provider, e o Caffeine lê as regiões de application.conf no classpath.
+ */
+public class CacheRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String CACHING_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+    static final String REGIONS_CONFIG = "application.conf";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(TypeReference.of(CACHING_PROVIDER), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern(REGIONS_CONFIG);
+    }
+}
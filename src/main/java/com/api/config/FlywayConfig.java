@@ -0,0 +1,25 @@
+package com.api.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Migrações na subida, exceto na execução de treino do CDS (Dockerfile e workflow de startup), que sobe o
+ * contexto sem banco e encerra ao fim do refresh (spring.context.exit=onRefresh). Com o AOT as condições são
+ * fixadas no build e spring.flyway.enabled=false não remove as migrações: a decisão precisa ser tomada aqui.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean trainingRun = "onRefresh".equals(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+}
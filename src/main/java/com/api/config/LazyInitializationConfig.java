@@ -0,0 +1,23 @@
+package com.api.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans que continuam sendo criados na subida mesmo com spring.main.lazy-initialization=true (profile lazy):
+ * migrações e validação do esquema precisam terminar antes de a instância receber tráfego, e o verificador
+ * de réplicas só é agendado quando o bean existe.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(Flyway.class, FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, DataSourceRoutingConfig.ReplicaHealthChecker.class);
+    }
+}
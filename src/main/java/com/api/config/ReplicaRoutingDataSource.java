@@ -0,0 +1,115 @@
+package com.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envia transações somente leitura para as réplicas (round-robin) e todo o resto para o primário.
+ * Réplicas indisponíveis ou com atraso acima do limite são excluídas até a próxima verificação de saúde;
+ * sem nenhuma réplica saudável, as leituras voltam para o primário.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final int validationTimeoutSeconds;
+    private final String lagQuery;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    long maxLagSeconds, int validationTimeoutSeconds, String lagQuery) {
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            this.replicas.put("replica-" + i, replicaDataSources.get(i));
+        }
+        this.maxLagSeconds = maxLagSeconds;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.lagQuery = lagQuery;
+        // Até a primeira verificação, todas as réplicas são consideradas saudáveis
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(counter.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Valida cada réplica e mede o atraso de replicação, atualizando a lista usada no roteamento.
+     */
+    public void refreshReplicaHealth() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((key, dataSource) -> {
+            if (isHealthy(key, dataSource)) {
+                healthy.add(key);
+            }
+        });
+        if (healthy.isEmpty() && !replicas.isEmpty()) {
+            log.warn("Nenhuma réplica saudável; leituras serão enviadas ao primário.");
+        }
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Réplicas atualmente elegíveis para leitura.
+     */
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    private boolean isHealthy(String key, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                log.warn("Réplica {} não respondeu à validação.", key);
+                return false;
+            }
+            if (!StringUtils.hasText(lagQuery)) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+                if (lag > maxLagSeconds) {
+                    log.warn("Réplica {} com atraso de {}s (limite {}s).", key, lag, maxLagSeconds);
+                    return false;
+                }
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao verificar a réplica {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do roteamento de leituras para réplicas (prefixo app.datasource.routing).
+ * O pool primário continua usando as propriedades padrão de spring.datasource.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Ativa o DataSource com roteamento primário/réplicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Lista de réplicas de leitura.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Atraso máximo de replicação (em segundos) aceito antes de excluir a réplica.
+     */
+    private long maxLagSeconds = 10;
+
+    /**
+     * Intervalo (em milissegundos) entre as verificações de saúde das réplicas.
+     */
+    private long healthCheckIntervalMs = 5000;
+
+    /**
+     * Tempo máximo (em segundos) para validar a conexão com a réplica.
+     */
+    private int validationTimeoutSeconds = 2;
+
+    /**
+     * Consulta que retorna o atraso de replicação em segundos. Vazia desativa a verificação de atraso
+     * (útil quando as réplicas são instâncias H2 locais).
+     */
+    private String lagQuery = "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
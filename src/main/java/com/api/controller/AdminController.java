@@ -0,0 +1,36 @@
+package com.api.controller;
+
+import com.api.dto.CacheRegionStatsDTO;
+import com.api.service.CacheStatsService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Administração", description = "Endpoints operacionais restritos a administradores")
+@Observed(name = "api.controller")
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public AdminController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @Operation(summary = "Estatísticas das regiões do cache de segundo nível (apenas ADMIN)")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+}
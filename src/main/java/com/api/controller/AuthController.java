@@ -3,17 +3,24 @@ package com.api.controller;
 
 import com.api.dto.AuthRequest;
 import com.api.dto.AuthResponse;
+import com.api.dto.RefreshRequest;
 import com.api.enums.Role;
+import com.api.exception.InvalidTokenException;
 import com.api.exception.UserAlreadyExistsException;
 import com.api.exception.UserNotFoundException;
 import com.api.model.User;
 import com.api.repository.UserRepository;
 import com.api.security.JwtUtil;
+import com.api.service.TokenRevocationService;
 import com.api.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +30,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+@Observed(name = "api.controller")
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Autenticação", description = "Endpoints de login e registro de usuários")
@@ -32,13 +40,16 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthController(UserService userService, JwtUtil jwtUtil,
-                          AuthenticationManager authenticationManager, UserRepository userRepository) {
+                          AuthenticationManager authenticationManager, UserRepository userRepository,
+                          TokenRevocationService tokenRevocationService) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Operation(summary = "Registro de usuário (CUSTOMER ou SELLER)")
@@ -83,16 +94,62 @@ public class AuthController {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
 
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+        return ResponseEntity.ok(issueTokens(user));
+    }
+
+    @Operation(summary = "Renovação do token de acesso com o refresh token, sem pedir a senha")
+    @ApiResponse(responseCode = "200", description = "Novo token de acesso e novo refresh token gerados")
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseRefreshToken(request.getRefreshToken());
+        } catch (JwtException e) {
+            throw new InvalidTokenException("Refresh token inválido ou expirado.");
+        }
+        if (tokenRevocationService.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt())) {
+            throw new InvalidTokenException("Refresh token revogado.");
+        }
+
+        // Cada refresh token vale para uma única renovação. A consulta acima vê só a memória, que recebe as
+        // revogações das outras instâncias a cada sincronização: quem decide é a gravação no banco, feita uma vez
+        if (!tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration())) {
+            throw new InvalidTokenException("Refresh token revogado.");
+        }
 
-        return ResponseEntity.ok(new AuthResponse(token, user.getRole().name()));
+        // A role pode ter mudado desde o login
+        User user = userRepository.findByUsername(claims.getSubject())
+                .orElseThrow(() -> new InvalidTokenException("Refresh token inválido ou expirado."));
+        return ResponseEntity.ok(issueTokens(user));
     }
 
     @Operation(summary = "Logout do usuário autenticado")
     @ApiResponse(responseCode = "200", description = "Logout realizado com sucesso")
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
+    public ResponseEntity<String> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+                                         String authorization,
+                                         @RequestBody(required = false) RefreshRequest request) {
+        // O token usado na requisição deixa de ser aceito até expirar
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtil.parseToken(authorization.substring(7));
+            tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+        }
+        // O refresh token, se enviado, também
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            try {
+                Claims claims = jwtUtil.parseRefreshToken(request.getRefreshToken());
+                tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+            } catch (JwtException e) {
+                // Inválido ou expirado: já não seria aceito
+            }
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok("Logout realizado com sucesso.");
     }
+
+    private AuthResponse issueTokens(User user) {
+        String role = user.getRole().name();
+        return new AuthResponse(jwtUtil.generateToken(user.getUsername(), role), role,
+                jwtUtil.generateRefreshToken(user.getUsername()), jwtUtil.getAccessTokenValidity().toSeconds());
+    }
 }
\ No newline at end of file
@@ -1,29 +1,62 @@
 
 package com.api.controller;
 
+import com.api.dto.ProductBatchResponse;
+import com.api.dto.ProductChangesResponse;
 import com.api.dto.ProductDTO;
+import com.api.dto.ProductImportJobDTO;
+import com.api.dto.SellerProductStatsDTO;
+import com.api.imports.ProductImportService;
 import com.api.model.Product;
+import com.api.service.ProductChangeFeedService;
+import com.api.service.ProductExportService;
 import com.api.service.ProductService;
+import com.api.service.SellerStatsService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.security.Principal;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Tag(name = "Produtos", description = "Endpoints para gerenciamento de produtos")
+@Observed(name = "api.controller")
 @RestController
 @RequestMapping("/products")
 public class ProductController {
-    private final ProductService productService;
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
-    public ProductController(ProductService productService) {
+    private final ProductService productService;
+    private final SellerStatsService sellerStatsService;
+    private final ProductChangeFeedService changeFeedService;
+    private final ProductExportService exportService;
+    private final ProductImportService importService;
+
+    public ProductController(ProductService productService, SellerStatsService sellerStatsService,
+                             ProductChangeFeedService changeFeedService, ProductExportService exportService,
+                             ProductImportService importService) {
         this.productService = productService;
+        this.sellerStatsService = sellerStatsService;
+        this.changeFeedService = changeFeedService;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     // Endpoints Públicos (Acesso Livre)
@@ -40,6 +73,18 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts(page, size, sort));
     }
 
+    @Operation(summary = "Alterações do catálogo desde um cursor (sincronização incremental)",
+            description = "Retorna produtos criados, alterados e removidos em ordem. Sem since, começa do início; "
+                    + "depois, envie em since o nextCursor da resposta anterior")
+    @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso")
+    @ApiResponse(responseCode = "410", description = "Cursor mais antigo que a retenção das exclusões")
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesResponse> getChanges(
+            @Parameter(description = "Cursor recebido em nextCursor (vazio = desde o início)") @RequestParam(required = false) String since,
+            @Parameter(description = "Quantidade máxima de alterações (máximo 500)") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
     @Operation(summary = "Busca produto por ID")
     @ApiResponse(responseCode = "200", description = "Produto encontrado com sucesso")
     @GetMapping("/{id}")
@@ -47,6 +92,15 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductById(id));
     }
 
+    @Operation(summary = "Busca vários produtos pelos IDs",
+            description = "Retorna os produtos na ordem informada e os IDs inexistentes (máximo de 100 IDs por chamada)")
+    @ApiResponse(responseCode = "200", description = "Produtos encontrados e IDs inexistentes")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(
+            @Parameter(description = "IDs separados por vírgula (ex: 1,2,3)") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
     @Operation(summary = "Lista produtos ordenados por preço (ASC/DESC)")
     @ApiResponse(responseCode = "200", description = "Lista de produtos ordenada por preço")
     @GetMapping(params = "sort")
@@ -54,21 +108,102 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsSorted(sort));
     }
 
-    @Operation(summary = "Lista produtos cadastrados por um usuário específico")
+    @Operation(summary = "Lista produtos cadastrados por um usuário específico",
+            description = "Paginação por ID: para a próxima página, envie em afterId o ID do último produto recebido")
     @ApiResponse(responseCode = "200", description = "Produtos do usuário retornados com sucesso")
     @GetMapping(params = "userId")
-    public ResponseEntity<List<ProductDTO>> getProductsByUser(@RequestParam Long userId) {
-        return ResponseEntity.ok(productService.getProductsByUser(userId));
+    public ResponseEntity<List<ProductDTO>> getProductsByUser(
+            @RequestParam Long userId,
+            @Parameter(description = "Retorna produtos com ID maior que este (0 = início)") @RequestParam(defaultValue = "0") long afterId,
+            @Parameter(description = "Quantidade de itens (máximo 100)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.getProductsByUser(userId, afterId, size));
     }
 
     // Endpoints Protegidos (Apenas SELLERs e ADMINs)
 
-    @Operation(summary = "Lista produtos do usuário autenticado (SELLER ou ADMIN)")
+    @Operation(summary = "Lista produtos do usuário autenticado (SELLER ou ADMIN)",
+            description = "Paginação por ID: para a próxima página, envie em afterId o ID do último produto recebido")
     @ApiResponse(responseCode = "200", description = "Produtos do usuário autenticado retornados")
     @GetMapping("/mine")
     @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
-    public ResponseEntity<List<ProductDTO>> getMyProducts(Principal principal) {
-        return ResponseEntity.ok(productService.getMyProducts(principal.getName()));
+    public ResponseEntity<List<ProductDTO>> getMyProducts(
+            Principal principal,
+            @Parameter(description = "Retorna produtos com ID maior que este (0 = início)") @RequestParam(defaultValue = "0") long afterId,
+            @Parameter(description = "Quantidade de itens (máximo 100)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.getMyProducts(principal.getName(), afterId, size));
+    }
+
+    @Operation(summary = "Resumo dos produtos do usuário autenticado (SELLER ou ADMIN)",
+            description = "Quantidade de produtos, estoque total, valor do estoque e faixa de preço")
+    @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso")
+    @GetMapping("/mine/summary")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<SellerProductStatsDTO> getMyProductsSummary(Principal principal) {
+        return ResponseEntity.ok(sellerStatsService.getSummary(principal.getName()));
+    }
+
+    @Operation(summary = "Exporta o catálogo completo (ADMIN)",
+            description = "Todos os produtos em ordem de ID, em CSV ou NDJSON, transmitidos enquanto são lidos do banco. "
+                    + "Com Accept-Encoding: gzip, a resposta é comprimida")
+    @ApiResponse(responseCode = "200", description = "Catálogo exportado")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportProducts(
+            @Parameter(description = "csv ou ndjson") @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ProductExportService.Format exportFormat = ProductExportService.Format.of(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("products." + exportFormat.getExtension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try {
+            OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                    : response.getOutputStream();
+            exportService.export(exportFormat, out);
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        } catch (RuntimeException e) {
+            // Falha antes do primeiro envio: descarta cabeçalhos e corpo parcial para a resposta de erro em JSON
+            if (!response.isCommitted()) {
+                response.reset();
+                throw e;
+            }
+            // Depois dele, o GlobalExceptionHandler não escreve nada e a exceção chega ao container, que interrompe
+            // a conexão. A causa fica só no log: com a conexão do banco perdida ela traz um EOFException, e o Spring
+            // tomaria a falha por desconexão do cliente, encerrando a resposta truncada como um 200 normal
+            log.error("Exportação do catálogo interrompida depois do início do envio", e);
+            throw new IllegalStateException("Exportação do catálogo interrompida depois do início do envio");
+        }
+    }
+
+    @Operation(summary = "Importa produtos de um CSV (SELLER ou ADMIN)",
+            description = "Corpo em text/csv (UTF-8) com cabeçalho e as colunas sku, name, description, price e quantity. "
+                    + "SKUs novos criam produtos e os já cadastrados são atualizados. O arquivo é validado na hora e "
+                    + "aplicado em segundo plano: acompanhe pelo endereço do cabeçalho Location")
+    @ApiResponse(responseCode = "202", description = "Arquivo recebido e importação na fila")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<ProductImportJobDTO> importProducts(InputStream body, Principal principal) {
+        ProductImportJobDTO job = importService.importCsv(principal.getName(), body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/products/import/" + job.getId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Andamento de uma importação de produtos",
+            description = "Contadores de registros e as primeiras linhas recusadas, com o motivo")
+    @ApiResponse(responseCode = "200", description = "Importação encontrada")
+    @GetMapping("/import/{id}")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<ProductImportJobDTO> getImport(@PathVariable Long id, Principal principal) {
+        return ResponseEntity.ok(importService.getJob(id, principal.getName()));
     }
 
     @Operation(summary = "Cria um novo produto (SELLER ou ADMIN)")
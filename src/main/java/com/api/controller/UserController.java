@@ -1,9 +1,12 @@
 package com.api.controller;
 
 import com.api.dto.AuthRequest;
+import com.api.dto.SellerProductStatsDTO;
 import com.api.dto.UserDTO;
 import com.api.model.User;
+import com.api.service.SellerStatsService;
 import com.api.service.UserService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,15 +20,18 @@ import java.security.Principal;
 import java.util.List;
 
 @Tag(name = "Usuários", description = "Endpoints para gerenciamento de contas de usuários")
+@Observed(name = "api.controller")
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
+    private final SellerStatsService sellerStatsService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SellerStatsService sellerStatsService) {
         this.userService = userService;
+        this.sellerStatsService = sellerStatsService;
     }
 
     // Métodos para Usuário Autenticado (CUSTOMER, SELLER, ADMIN)
@@ -78,6 +84,14 @@ public class UserController {
         return ResponseEntity.ok(new UserDTO(user.getId(), user.getUsername(), user.getRole()));
     }
 
+    @Operation(summary = "Resumo dos produtos cadastrados por um usuário (apenas ADMIN)")
+    @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso")
+    @GetMapping("/{id}/product-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SellerProductStatsDTO> getUserProductStats(@PathVariable Long id) {
+        return ResponseEntity.ok(sellerStatsService.getStatsByUserId(id));
+    }
+
     @Operation(summary = "Exclui um usuário pelo ID (apenas ADMIN)")
     @ApiResponse(responseCode = "200", description = "Usuário excluído com sucesso")
     @DeleteMapping("/{id}")
@@ -13,4 +13,10 @@ public class AuthResponse {
 
     @Schema(description = "Papel do usuário autenticado", example = "SELLER")
     private String role;
+
+    @Schema(description = "Refresh token, trocado por um novo token de acesso em /auth/refresh", example = "eyJhbGciOiJIUzI1NiIsImtpZCI6...")
+    private String refreshToken;
+
+    @Schema(description = "Validade do token de acesso, em segundos", example = "900")
+    private long expiresIn;
 }
\ No newline at end of file
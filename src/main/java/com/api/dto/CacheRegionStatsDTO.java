@@ -0,0 +1,25 @@
+package com.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    @Schema(description = "Nome da região do cache de segundo nível", example = "users")
+    private final String region;
+
+    @Schema(description = "Leituras atendidas pelo cache", example = "1520")
+    private final long hitCount;
+
+    @Schema(description = "Leituras que precisaram ir ao banco", example = "12")
+    private final long missCount;
+
+    @Schema(description = "Entradas gravadas no cache", example = "12")
+    private final long putCount;
+
+    @Schema(description = "Entradas atualmente em memória (-1 se indisponível)", example = "12")
+    private final long elementCountInMemory;
+}
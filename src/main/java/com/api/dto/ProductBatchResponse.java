@@ -0,0 +1,18 @@
+package com.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    @Schema(description = "Produtos encontrados, na ordem dos IDs informados")
+    private final List<ProductDTO> products;
+
+    @Schema(description = "IDs informados que não correspondem a nenhum produto", example = "[42]")
+    private final List<Long> missingIds;
+}
@@ -0,0 +1,26 @@
+package com.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangeDTO {
+
+    public enum Type { UPSERT, DELETE }
+
+    @Schema(description = "UPSERT: produto criado ou alterado; DELETE: produto removido", example = "UPSERT")
+    private final Type type;
+
+    @Schema(description = "ID do produto", example = "1")
+    private final long id;
+
+    @Schema(description = "Estado atual do produto (ausente em DELETE)")
+    private final ProductDTO product;
+
+    @Schema(description = "Momento da alteração", example = "2025-03-01T12:00:00.123456Z")
+    private final Instant changedAt;
+}
@@ -0,0 +1,21 @@
+package com.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangesResponse {
+
+    @Schema(description = "Alterações em ordem, cada produto com o seu estado mais recente")
+    private final List<ProductChangeDTO> changes;
+
+    @Schema(description = "Cursor a enviar em since na próxima chamada (o mesmo recebido, se não houve alterações)")
+    private final String nextCursor;
+
+    @Schema(description = "Há mais alterações disponíveis: chame de novo sem esperar")
+    private final boolean hasMore;
+}
@@ -3,17 +3,22 @@ package com.api.dto;
 import com.api.model.Product;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ProductDTO {
 
     @Schema(description = "ID do produto", example = "1")
     private long id;
 
+    @Schema(description = "Código do produto no catálogo do seller (único por seller, opcional)", example = "CAM-OVS-P")
+    private String sku;
+
     @Schema(description = "Nome do produto", example = "Camiseta Oversized")
     private String name;
 
@@ -31,6 +36,7 @@ public class ProductDTO {
 
     public ProductDTO(Product product) {
         this.id = product.getId();
+        this.sku = product.getSku();
         this.name = product.getName();
         this.description = product.getDescription();
         this.price = product.getPrice();
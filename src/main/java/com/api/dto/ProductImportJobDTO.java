@@ -0,0 +1,70 @@
+package com.api.dto;
+
+import com.api.model.ProductImportError;
+import com.api.model.ProductImportJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+public class ProductImportJobDTO {
+
+    @Schema(description = "ID da importação", example = "1")
+    private final long id;
+
+    @Schema(description = "RECEIVING, QUEUED, RUNNING, COMPLETED ou FAILED", example = "RUNNING")
+    private final ProductImportJob.Status status;
+
+    @Schema(description = "Registros do arquivo, sem o cabeçalho", example = "1000000")
+    private final long totalRows;
+
+    @Schema(description = "Registros recusados na validação", example = "2")
+    private final long invalidRows;
+
+    @Schema(description = "Registros já aplicados ao catálogo", example = "250000")
+    private final long processedRows;
+
+    @Schema(description = "Produtos criados", example = "240000")
+    private final long insertedRows;
+
+    @Schema(description = "Produtos existentes (mesmo SKU) alterados", example = "9998")
+    private final long updatedRows;
+
+    @Schema(description = "Motivo da falha (status FAILED)")
+    private final String message;
+
+    private final Instant createdAt;
+
+    private final Instant finishedAt;
+
+    @Schema(description = "Primeiras linhas recusadas, com o motivo")
+    private final List<LineError> errors;
+
+    public ProductImportJobDTO(ProductImportJob job, List<ProductImportError> errors) {
+        this.id = job.getId();
+        this.status = job.getStatus();
+        this.totalRows = job.getTotalRows();
+        this.invalidRows = job.getInvalidRows();
+        this.processedRows = job.getProcessedRows();
+        this.insertedRows = job.getInsertedRows();
+        this.updatedRows = job.getUpdatedRows();
+        this.message = job.getMessage();
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.errors = errors.stream().map(error -> new LineError(error.getLineNumber(), error.getMessage())).toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LineError {
+
+        @Schema(description = "Linha do arquivo (1 = cabeçalho)", example = "42")
+        private final long line;
+
+        @Schema(description = "Motivo da recusa", example = "Preço inválido: 12,50")
+        private final String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequest {
+
+    @Schema(description = "Refresh token recebido no login ou na última renovação", example = "eyJhbGciOiJIUzI1NiIsImtpZCI6...")
+    @NotBlank(message = "O refresh token é obrigatório.")
+    private String refreshToken;
+}
@@ -0,0 +1,40 @@
+package com.api.dto;
+
+import com.api.model.SellerProductStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@NoArgsConstructor
+public class SellerProductStatsDTO {
+
+    @Schema(description = "ID do seller", example = "7")
+    private Long sellerId;
+
+    @Schema(description = "Quantidade de produtos cadastrados", example = "120")
+    private long productCount;
+
+    @Schema(description = "Soma das quantidades em estoque", example = "3400")
+    private long totalQuantity;
+
+    @Schema(description = "Valor total do estoque (preço * quantidade)", example = "152340.50")
+    private BigDecimal totalStockValue;
+
+    @Schema(description = "Menor preço entre os produtos", example = "9.90")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Maior preço entre os produtos", example = "899.00")
+    private BigDecimal maxPrice;
+
+    public SellerProductStatsDTO(Long sellerId, SellerProductStats stats) {
+        this.sellerId = sellerId;
+        this.productCount = stats.getProductCount();
+        this.totalQuantity = stats.getTotalQuantity();
+        this.totalStockValue = stats.getTotalStockValue();
+        this.minPrice = stats.getMinPrice();
+        this.maxPrice = stats.getMaxPrice();
+    }
+}
@@ -0,0 +1,14 @@
+package com.api.events;
+
+import com.api.dto.ProductDTO;
+import com.api.model.ProductOutboxEntry;
+
+import java.time.Instant;
+
+/**
+ * Alteração de produto entregue aos assinantes. {@code product} é o estado depois da escrita
+ * (o último estado, na exclusão). Pode ser entregue mais de uma vez: {@code id} identifica o evento.
+ */
+public record ProductEvent(long id, ProductOutboxEntry.Type type, long productId, Long sellerId,
+                           ProductDTO product, Instant occurredAt) {
+}
@@ -0,0 +1,55 @@
+package com.api.events;
+
+import com.api.dto.ProductDTO;
+import com.api.model.Product;
+import com.api.model.ProductOutboxEntry;
+import com.api.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Grava os eventos de produtos no outbox. Exige a transação da escrita: o evento existe se, e somente se,
+ * a alteração for confirmada. A entrega fica com o ProductEventRelay.
+ */
+public class ProductEventOutbox {
+
+    private final ProductOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ProductOutboxProperties properties;
+
+    public ProductEventOutbox(ProductOutboxRepository repository, ObjectMapper objectMapper,
+                              ProductOutboxProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Indica se os eventos são gravados; escritas em massa feitas por SQL (importação) consultam antes de
+     * gravar os próprios eventos.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ProductOutboxEntry.Type type, Product product) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long sellerId = product.getCreatedBy() != null ? product.getCreatedBy().getId() : null;
+        repository.save(new ProductOutboxEntry(type, product.getId(), sellerId, toJson(product), Instant.now()));
+    }
+
+    private String toJson(Product product) {
+        try {
+            return objectMapper.writeValueAsString(new ProductDTO(product));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do produto " + product.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.api.events;
+
+import com.api.dto.ProductDTO;
+import com.api.model.ProductOutboxEntry;
+import com.api.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entrega os eventos pendentes do outbox aos ProductEventSubscriber, em lotes e fora das requisições.
+ * Cada lote é bloqueado com {@code FOR UPDATE SKIP LOCKED} numa transação própria: todas as instâncias
+ * podem rodar o relay, cada uma com eventos diferentes. A ordem de entrega por produto só é garantida
+ * dentro de um lote.
+ */
+public class ProductEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventRelay.class);
+
+    private final ProductOutboxRepository repository;
+    private final TransactionTemplate transaction;
+    private final List<ProductEventSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final ProductOutboxProperties properties;
+    private final Timer lag;
+    private final Map<ProductOutboxEntry.Type, Counter> dispatched = new EnumMap<>(ProductOutboxEntry.Type.class);
+    private final Counter retries;
+    private final Counter failed;
+
+    public ProductEventRelay(ProductOutboxRepository repository, PlatformTransactionManager transactionManager,
+                             List<ProductEventSubscriber> subscribers, ObjectMapper objectMapper,
+                             ProductOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.subscribers = List.copyOf(subscribers);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.lag = Timer.builder("outbox.dispatch.lag")
+                .description("Tempo entre a gravação do evento e a entrega a todos os assinantes")
+                .register(meterRegistry);
+        for (ProductOutboxEntry.Type type : ProductOutboxEntry.Type.values()) {
+            dispatched.put(type, Counter.builder("outbox.events.dispatched")
+                    .description("Eventos de produtos entregues aos assinantes")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.retries = Counter.builder("outbox.events.retries")
+                .description("Entregas que falharam e foram reagendadas")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.events.failed")
+                .description("Eventos abandonados depois de app.outbox.max-attempts falhas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entrega lotes até a fila esvaziar: um lote cheio indica que há mais eventos esperando.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}",
+            initialDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int size;
+            do {
+                size = relayBatch();
+            } while (size == properties.getBatchSize());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Falha ao entregar eventos de produtos: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        Integer size = transaction.execute(status -> {
+            Instant now = Instant.now();
+            List<ProductOutboxEntry> batch = repository.lockNextBatch(now, properties.getBatchSize());
+            List<Long> published = new ArrayList<>(batch.size());
+            for (ProductOutboxEntry entry : batch) {
+                try {
+                    dispatch(toEvent(entry));
+                    published.add(entry.getId());
+                    dispatched.get(entry.getType()).increment();
+                    lag.record(Duration.between(entry.getCreatedAt(), Instant.now()));
+                } catch (RuntimeException e) {
+                    retryLater(entry, e, now);
+                }
+            }
+            if (!published.isEmpty()) {
+                repository.markPublished(published, now);
+            }
+            return batch.size();
+        });
+        return size == null ? 0 : size;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:600000}", initialDelay = 60000)
+    public void purgePublished() {
+        Integer removed = transaction.execute(status ->
+                repository.deletePublishedBefore(Instant.now().minus(properties.getRetention())));
+        if (removed != null && removed > 0) {
+            log.debug("{} eventos de produtos já entregues removidos do outbox", removed);
+        }
+    }
+
+    private void dispatch(ProductEvent event) {
+        for (ProductEventSubscriber subscriber : subscribers) {
+            subscriber.onProductEvent(event);
+        }
+    }
+
+    private ProductEvent toEvent(ProductOutboxEntry entry) {
+        ProductDTO product;
+        try {
+            product = objectMapper.readValue(entry.getPayload(), ProductDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido: " + e.getOriginalMessage(), e);
+        }
+        return new ProductEvent(entry.getId(), entry.getType(), entry.getProductId(), entry.getSellerId(),
+                product, entry.getCreatedAt());
+    }
+
+    // Espera dobra a cada falha; depois de maxAttempts o evento sai da fila e fica com failed_at
+    private void retryLater(ProductOutboxEntry entry, RuntimeException error, Instant now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(error.toString()));
+        if (attempts >= properties.getMaxAttempts()) {
+            entry.setFailedAt(now);
+            failed.increment();
+            log.error("Evento {} do produto {} abandonado depois de {} tentativas", entry.getId(),
+                    entry.getProductId(), attempts, error);
+            return;
+        }
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(properties.getMaxRetryBackoff()) > 0) {
+            backoff = properties.getMaxRetryBackoff();
+        }
+        entry.setAvailableAt(now.plus(backoff));
+        retries.increment();
+        log.warn("Falha ao entregar o evento {} do produto {} (tentativa {}): {}", entry.getId(),
+                entry.getProductId(), attempts, error.toString());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
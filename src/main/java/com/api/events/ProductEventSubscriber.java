@@ -0,0 +1,14 @@
+package com.api.events;
+
+/**
+ * Consumidor dos eventos de produtos. Beans que implementam esta interface são chamados pelo ProductEventRelay,
+ * fora da requisição que alterou o produto, na ordem de {@code @Order}.
+ * <p>
+ * A entrega é pelo menos uma vez: se um assinante lança exceção, o evento volta para a fila e é entregue
+ * de novo a todos eles. O assinante roda dentro da transação do lote; gravações próprias que não devem
+ * ser desfeitas com ele precisam de {@code REQUIRES_NEW}.
+ */
+public interface ProductEventSubscriber {
+
+    void onProductEvent(ProductEvent event);
+}
@@ -0,0 +1,34 @@
+package com.api.events;
+
+import com.api.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Outbox e relay dos eventos de produtos.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ProductOutboxProperties.class)
+public class ProductEventsConfig {
+
+    @Bean
+    public ProductEventOutbox productEventOutbox(ProductOutboxRepository repository, ObjectMapper objectMapper,
+                                                 ProductOutboxProperties properties) {
+        return new ProductEventOutbox(repository, objectMapper, properties);
+    }
+
+    @Bean
+    public ProductEventRelay productEventRelay(ProductOutboxRepository repository,
+                                               PlatformTransactionManager transactionManager,
+                                               ObjectProvider<ProductEventSubscriber> subscribers,
+                                               ObjectMapper objectMapper, ProductOutboxProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new ProductEventRelay(repository, transactionManager, subscribers.orderedStream().toList(),
+                objectMapper, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.api.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outbox dos eventos de produtos (prefixo app.outbox).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class ProductOutboxProperties {
+
+    /**
+     * Grava os eventos nas escritas de produtos e entrega os pendentes aos assinantes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Eventos bloqueados e entregues por transação.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Falhas de entrega antes de desistir do evento (que fica com failed_at preenchido).
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Espera antes da primeira nova tentativa; dobra a cada falha, até maxRetryBackoff.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Tempo que os eventos já entregues ficam na tabela antes de serem removidos.
+     */
+    private Duration retention = Duration.ofDays(1);
+}
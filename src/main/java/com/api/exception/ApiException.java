@@ -0,0 +1,13 @@
+package com.api.exception;
+
+/**
+ * Base das exceções de negócio da API. Não captura stack trace nem permite supressão: são lançadas
+ * em caminhos esperados (recurso inexistente, permissão negada) e tratadas pelo GlobalExceptionHandler,
+ * então percorrer a pilha de Spring/Tomcat a cada 404 ou 403 seria só custo.
+ */
+public abstract class ApiException extends RuntimeException {
+
+    protected ApiException(String message) {
+        super(message, null, false, false);
+    }
+}
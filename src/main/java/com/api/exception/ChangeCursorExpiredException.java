@@ -0,0 +1,7 @@
+package com.api.exception;
+
+public class ChangeCursorExpiredException extends ApiException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
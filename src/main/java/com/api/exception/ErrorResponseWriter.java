@@ -0,0 +1,183 @@
+package com.api.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve as respostas de erro no formato de {@link com.api.dto.ErrorResponse} direto no corpo da resposta,
+ * sem ObjectMapper, sem objetos intermediários e com os trechos fixos de cada erro já codificados em UTF-8.
+ * O timestamp tem precisão de segundos e é codificado uma única vez por segundo.
+ */
+public final class ErrorResponseWriter {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] OPEN = ascii("{\"timestamp\":\"");
+    private static final byte[] MESSAGE_SUFFIX = ascii("\",\"path\":\"");
+    private static final byte[] CLOSE = ascii("\"}");
+
+    private static volatile CachedTimestamp timestamp = new CachedTimestamp(-1, new byte[0]);
+
+    private ErrorResponseWriter() {
+    }
+
+    /**
+     * Modelo de erro com mensagem variável (informada a cada escrita).
+     */
+    public static Template template(HttpStatus status, String error) {
+        return new Template(status, utf8("\",\"status\":" + status.value() + ",\"error\":\"" + escape(error)
+                + "\",\"message\":\""), false);
+    }
+
+    /**
+     * Modelo de erro com mensagem fixa; só o timestamp e o caminho variam.
+     */
+    public static Template template(HttpStatus status, String error, String message) {
+        return new Template(status, utf8("\",\"status\":" + status.value() + ",\"error\":\"" + escape(error)
+                + "\",\"message\":\"" + escape(message) + "\",\"path\":\""), true);
+    }
+
+    public static final class Template {
+        private final HttpStatus status;
+        private final byte[] head;
+        private final boolean fixedMessage;
+
+        private Template(HttpStatus status, byte[] head, boolean fixedMessage) {
+            this.status = status;
+            this.head = head;
+            this.fixedMessage = fixedMessage;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Define status e content type e escreve o corpo. Para modelos de mensagem fixa, {@code message} é ignorada.
+         */
+        public void send(HttpServletResponse response, String message, String path) throws IOException {
+            response.setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            write(response.getOutputStream(), message, path);
+        }
+
+        public void send(HttpServletResponse response, String path) throws IOException {
+            send(response, null, path);
+        }
+
+        public void write(OutputStream out, String message, String path) throws IOException {
+            out.write(OPEN);
+            out.write(currentTimestamp());
+            out.write(head);
+            if (!fixedMessage) {
+                writeEscaped(out, message);
+                out.write(MESSAGE_SUFFIX);
+            }
+            writeEscaped(out, path);
+            out.write(CLOSE);
+        }
+    }
+
+    private static byte[] currentTimestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = timestamp;
+        if (cached.second != second) {
+            cached = new CachedTimestamp(second, ascii(LocalDateTime.now().format(TIMESTAMP_FORMAT)));
+            timestamp = cached;
+        }
+        return cached.bytes;
+    }
+
+    /**
+     * Escreve a string escapada para JSON em UTF-8, caractere a caractere, sem criar arrays intermediários.
+     */
+    static void writeEscaped(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                writeControl(out, c);
+            } else if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.write(0xF0 | (codePoint >> 18));
+                out.write(0x80 | ((codePoint >> 12) & 0x3F));
+                out.write(0x80 | ((codePoint >> 6) & 0x3F));
+                out.write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.write('?');
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeControl(OutputStream out, char c) throws IOException {
+        out.write('\\');
+        switch (c) {
+            case '\n' -> out.write('n');
+            case '\r' -> out.write('r');
+            case '\t' -> out.write('t');
+            default -> {
+                out.write('u');
+                out.write('0');
+                out.write('0');
+                out.write(HEX[c >> 4]);
+                out.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record CachedTimestamp(long second, byte[] bytes) {
+    }
+}
@@ -1,96 +1,147 @@
 package com.api.exception;
 
-import com.api.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.stream.Collectors;
 
+/**
+ * Converte as exceções em respostas no formato de {@link com.api.dto.ErrorResponse},
+ * escritas pelo {@link ErrorResponseWriter} com os trechos fixos de cada erro pré-codificados.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorResponseWriter.Template ACCESS_DENIED = ErrorResponseWriter.template(
+            HttpStatus.FORBIDDEN, "Acesso negado", "Você não tem permissão para acessar este recurso.");
+    private static final ErrorResponseWriter.Template BAD_CREDENTIALS = ErrorResponseWriter.template(
+            HttpStatus.UNAUTHORIZED, "Credenciais inválidas", "Usuário ou senha incorretos.");
+    private static final ErrorResponseWriter.Template INVALID_TOKEN =
+            ErrorResponseWriter.template(HttpStatus.UNAUTHORIZED, "Token inválido");
+    private static final ErrorResponseWriter.Template USER_ALREADY_EXISTS =
+            ErrorResponseWriter.template(HttpStatus.CONFLICT, "Usuário já existe");
+    private static final ErrorResponseWriter.Template VALIDATION =
+            ErrorResponseWriter.template(HttpStatus.BAD_REQUEST, "Erro de validação");
+    private static final ErrorResponseWriter.Template BAD_REQUEST =
+            ErrorResponseWriter.template(HttpStatus.BAD_REQUEST, "Requisição inválida");
+    private static final ErrorResponseWriter.Template PRODUCT_NOT_FOUND =
+            ErrorResponseWriter.template(HttpStatus.NOT_FOUND, "Produto não encontrado");
+    private static final ErrorResponseWriter.Template USER_NOT_FOUND =
+            ErrorResponseWriter.template(HttpStatus.UNAUTHORIZED, "Usuário não encontrado");
+    private static final ErrorResponseWriter.Template USER_NOT_ALLOWED =
+            ErrorResponseWriter.template(HttpStatus.FORBIDDEN, "Operação não permitida");
+    private static final ErrorResponseWriter.Template PRODUCT_OWNERSHIP =
+            ErrorResponseWriter.template(HttpStatus.FORBIDDEN, "Acesso negado");
+    private static final ErrorResponseWriter.Template PRODUCT_SKU_ALREADY_EXISTS =
+            ErrorResponseWriter.template(HttpStatus.CONFLICT, "SKU já cadastrado");
+    private static final ErrorResponseWriter.Template IMPORT_JOB_NOT_FOUND =
+            ErrorResponseWriter.template(HttpStatus.NOT_FOUND, "Importação não encontrada");
+    private static final ErrorResponseWriter.Template CHANGE_CURSOR_EXPIRED =
+            ErrorResponseWriter.template(HttpStatus.GONE, "Cursor expirado");
+    private static final ErrorResponseWriter.Template INTERNAL_ERROR =
+            ErrorResponseWriter.template(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno");
+
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDeniedException(
-            AccessDeniedException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.FORBIDDEN, "Acesso negado",
-                "Você não tem permissão para acessar este recurso.", request);
+    public void handleAccessDeniedException(AccessDeniedException ex, HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        ACCESS_DENIED.send(response, request.getRequestURI());
     }
 
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<ErrorResponse> handleBadCredentialsException(
-            BadCredentialsException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Credenciais inválidas",
-                "Usuário ou senha incorretos.", request);
+    public void handleBadCredentialsException(BadCredentialsException ex, HttpServletRequest request,
+                                              HttpServletResponse response) throws IOException {
+        BAD_CREDENTIALS.send(response, request.getRequestURI());
+    }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public void handleInvalidTokenException(InvalidTokenException ex, HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        INVALID_TOKEN.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(
-            UserAlreadyExistsException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.CONFLICT, "Usuário já existe",
-                ex.getMessage(), request);
+    public void handleUserAlreadyExistsException(UserAlreadyExistsException ex, HttpServletRequest request,
+                                                 HttpServletResponse response) throws IOException {
+        USER_ALREADY_EXISTS.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationException(
-            MethodArgumentNotValidException ex, HttpServletRequest request) {
+    public void handleValidationException(MethodArgumentNotValidException ex, HttpServletRequest request,
+                                          HttpServletResponse response) throws IOException {
         String errors = ex.getBindingResult().getFieldErrors().stream()
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .collect(Collectors.joining(System.lineSeparator()));
 
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Erro de validação",
-                errors, request);
+        VALIDATION.send(response, errors, request.getRequestURI());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public void handleIllegalArgumentException(IllegalArgumentException ex, HttpServletRequest request,
+                                               HttpServletResponse response) throws IOException {
+        BAD_REQUEST.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(ProductNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleProductNotFoundException(
-            ProductNotFoundException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.NOT_FOUND, "Produto não encontrado",
-                ex.getMessage(), request);
+    public void handleProductNotFoundException(ProductNotFoundException ex, HttpServletRequest request,
+                                               HttpServletResponse response) throws IOException {
+        PRODUCT_NOT_FOUND.send(response, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ProductSkuAlreadyExistsException.class)
+    public void handleProductSkuAlreadyExistsException(ProductSkuAlreadyExistsException ex, HttpServletRequest request,
+                                                       HttpServletResponse response) throws IOException {
+        PRODUCT_SKU_ALREADY_EXISTS.send(response, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public void handleImportJobNotFoundException(ImportJobNotFoundException ex, HttpServletRequest request,
+                                                 HttpServletResponse response) throws IOException {
+        IMPORT_JOB_NOT_FOUND.send(response, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public void handleChangeCursorExpiredException(ChangeCursorExpiredException ex, HttpServletRequest request,
+                                                   HttpServletResponse response) throws IOException {
+        CHANGE_CURSOR_EXPIRED.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleUserNotFoundException(
-            UserNotFoundException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Usuário não encontrado",
-                ex.getMessage(), request);
+    public void handleUserNotFoundException(UserNotFoundException ex, HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        USER_NOT_FOUND.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(UserNotAllowedException.class)
-    public ResponseEntity<ErrorResponse> handleUserNotAllowedException(
-            UserNotAllowedException ex, HttpServletRequest request) {
-        return buildErrorResponse(HttpStatus.FORBIDDEN, "Operação não permitida",
-                ex.getMessage(), request);
+    public void handleUserNotAllowedException(UserNotAllowedException ex, HttpServletRequest request,
+                                              HttpServletResponse response) throws IOException {
+        USER_NOT_ALLOWED.send(response, ex.getMessage(), request.getRequestURI());
     }
 
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ErrorResponse> handleRuntimeException(
-            RuntimeException ex, HttpServletRequest request) {
-        if (ex instanceof UserNotFoundException || ex instanceof ProductNotFoundException) {
-            throw ex; // Permite que o handler específico trate a exceção corretamente
-        }
-        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno",
-                ex.getMessage(), request);
+    @ExceptionHandler(ProductOwnershipException.class)
+    public void handleProductOwnershipException(ProductOwnershipException ex, HttpServletRequest request,
+                                                HttpServletResponse response) throws IOException {
+        PRODUCT_OWNERSHIP.send(response, ex.getMessage(), request.getRequestURI());
     }
 
     /**
-     * Método auxiliar para construir uma resposta de erro padronizada.
+     * Demais exceções. As de negócio ({@link ApiException}) têm handlers próprios, escolhidos pelo Spring
+     * pelo tipo mais específico. Se parte do corpo já foi enviada (falha no meio da exportação), o status não
+     * muda mais e o JSON ficaria colado ao conteúdo: a exceção segue para o container, que interrompe a conexão
+     * e o cliente recebe uma transferência incompleta em vez de um 200 truncado.
      */
-    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String error,
-                                                             String message, HttpServletRequest request) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                status.value(),
-                error,
-                message,
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(status).body(errorResponse);
+    @ExceptionHandler(RuntimeException.class)
+    public void handleRuntimeException(RuntimeException ex, HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        if (response.isCommitted()) {
+            throw ex;
+        }
+        INTERNAL_ERROR.send(response, ex.getMessage(), request.getRequestURI());
     }
 }
@@ -0,0 +1,7 @@
+package com.api.exception;
+
+public class ImportJobNotFoundException extends ApiException {
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.exception;
+
+public class InvalidTokenException extends ApiException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
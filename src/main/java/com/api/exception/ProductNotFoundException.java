@@ -1,6 +1,6 @@
 package com.api.exception;
 
-public class ProductNotFoundException extends RuntimeException {
+public class ProductNotFoundException extends ApiException {
     public ProductNotFoundException(String message) {
         super(message);
     }
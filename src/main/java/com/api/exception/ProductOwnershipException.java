@@ -0,0 +1,10 @@
+package com.api.exception;
+
+/**
+ * Lançada quando o usuário tenta alterar ou excluir um produto que não cadastrou.
+ */
+public class ProductOwnershipException extends ApiException {
+    public ProductOwnershipException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.exception;
+
+public class ProductSkuAlreadyExistsException extends ApiException {
+    public ProductSkuAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.api.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends ApiException {
     public UserAlreadyExistsException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.api.exception;
 
-public class UserNotAllowedException extends RuntimeException {
+public class UserNotAllowedException extends ApiException {
     public UserNotAllowedException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.api.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends ApiException {
     public UserNotFoundException(String message) {
         super(message);
     }
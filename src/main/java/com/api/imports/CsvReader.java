@@ -0,0 +1,122 @@
+package com.api.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) em fluxo: campos entre aspas podem conter vírgulas, aspas duplicadas e quebras
+ * de linha. Guarda só o registro atual, limitado a {@link #MAX_RECORD_LENGTH} caracteres.
+ */
+class CsvReader {
+
+    // Um registro maior que isso quase sempre é uma aspa sem fechamento consumindo o resto do arquivo
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pending = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Próximo registro, ou {@code null} no fim do arquivo. Linhas em branco são ignoradas.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n' || c == '\r') {
+                skipLineFeed(c);
+                line++;
+                continue;
+            }
+            unread(c);
+            recordLine = line;
+            return readRecord();
+        }
+    }
+
+    /**
+     * Linha do arquivo em que começa o último registro lido (1 = primeira linha).
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Linha " + recordLine + ": registro com mais de "
+                        + MAX_RECORD_LENGTH + " caracteres (aspas sem fechamento?).");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Linha " + recordLine + ": aspas sem fechamento.");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c != -1) {
+                    skipLineFeed(c);
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    // \r\n conta como uma única quebra de linha
+    private void skipLineFeed(int c) throws IOException {
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                unread(next);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.imports;
+
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.events.ProductEventOutbox;
+import com.api.repository.ProductImportErrorRepository;
+import com.api.repository.ProductImportJobRepository;
+import com.api.repository.ProductImportRowRepository;
+import com.api.repository.ProductRepository;
+import com.api.repository.UserRepository;
+import com.api.service.SellerStatsService;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Importação de produtos em CSV. O executor dos jobs fica dentro do serviço (e não como bean) para não
+ * substituir o executor padrão do Spring.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ProductImportProperties.class)
+public class ProductImportConfig {
+
+    @Bean
+    public ProductImportStaging productImportStaging(EntityManager entityManager, ProductRepository productRepository,
+                                                     ProductImportRowRepository rowRepository,
+                                                     ProductEventOutbox productEventOutbox,
+                                                     CacheInvalidationPublisher cacheInvalidationPublisher) {
+        return new ProductImportStaging(entityManager, productRepository, rowRepository, productEventOutbox,
+                cacheInvalidationPublisher);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ProductImportService productImportService(ProductImportJobRepository jobRepository,
+                                                     ProductImportErrorRepository errorRepository,
+                                                     UserRepository userRepository,
+                                                     SellerStatsService sellerStatsService,
+                                                     ProductImportStaging staging,
+                                                     PlatformTransactionManager transactionManager,
+                                                     ProductImportProperties properties) {
+        return new ProductImportService(jobRepository, errorRepository, userRepository, sellerStatsService, staging,
+                transactionManager, Executors.newFixedThreadPool(properties.getMaxConcurrentJobs(),
+                Thread.ofPlatform().name("product-import-", 0).factory()), properties);
+    }
+}
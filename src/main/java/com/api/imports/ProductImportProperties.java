@@ -0,0 +1,42 @@
+package com.api.imports;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Importação de produtos em CSV (prefixo app.products.import).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.products.import")
+public class ProductImportProperties {
+
+    /**
+     * Registros do arquivo aplicados em products por transação. Cada bloco é confirmado em poucos segundos,
+     * dentro da janela de estabilização do feed de alterações.
+     */
+    private int chunkSize = 10_000;
+
+    /**
+     * Linhas recusadas gravadas por job, com o motivo; as demais só entram na contagem.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * Jobs aplicados ao mesmo tempo por instância; os seguintes esperam na fila.
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Jobs sem progresso por mais que isso (instância reiniciada no meio da importação) são marcados como falhos.
+     */
+    private Duration staleAfter = Duration.ofHours(1);
+
+    /**
+     * Tempo que os jobs concluídos e os seus erros ficam disponíveis para consulta.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,374 @@
+package com.api.imports;
+
+import com.api.dto.ProductImportJobDTO;
+import com.api.enums.Role;
+import com.api.exception.ImportJobNotFoundException;
+import com.api.exception.ProductOwnershipException;
+import com.api.exception.UserNotAllowedException;
+import com.api.exception.UserNotFoundException;
+import com.api.model.ProductImportError;
+import com.api.model.ProductImportJob;
+import com.api.model.User;
+import com.api.repository.ProductImportErrorRepository;
+import com.api.repository.ProductImportJobRepository;
+import com.api.repository.UserRepository;
+import com.api.service.SellerStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Importação de produtos em CSV para o catálogo do seller, identificados pelo SKU: SKUs novos criam produtos e
+ * os já cadastrados pelo seller são atualizados.
+ * <p>
+ * O arquivo é lido em fluxo durante a requisição: cada registro é validado e os válidos vão para a staging
+ * (ver ProductImportStaging) sem passar pelo Hibernate. A aplicação em products roda depois, num executor
+ * próprio, em blocos de app.products.import.chunk-size registros, cada um na sua transação; o andamento fica
+ * no job, consultado por {@link #getJob}. Um bloco que falha interrompe o job (os anteriores continuam
+ * aplicados e uma nova importação do mesmo arquivo completa o restante). As estatísticas do seller são
+ * recalculadas uma vez, no fim.
+ */
+public class ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    // Colunas obrigatórias do cabeçalho, em qualquer ordem; as demais (id, createdBy da exportação) são ignoradas
+    static final List<String> COLUMNS = List.of("sku", "name", "description", "price", "quantity");
+
+    private static final Set<Role> IMPORTER_ROLES = EnumSet.of(Role.SELLER, Role.ADMIN);
+
+    private static final Set<ProductImportJob.Status> ACTIVE_STATUSES = EnumSet.of(
+            ProductImportJob.Status.RECEIVING, ProductImportJob.Status.QUEUED, ProductImportJob.Status.RUNNING);
+
+    private static final int MESSAGE_LENGTH = 500;
+
+    private final ProductImportJobRepository jobRepository;
+    private final ProductImportErrorRepository errorRepository;
+    private final UserRepository userRepository;
+    private final SellerStatsService sellerStatsService;
+    private final ProductImportStaging staging;
+    private final TransactionTemplate transaction;
+    private final ExecutorService executor;
+    private final ProductImportProperties properties;
+
+    public ProductImportService(ProductImportJobRepository jobRepository, ProductImportErrorRepository errorRepository,
+                                UserRepository userRepository, SellerStatsService sellerStatsService,
+                                ProductImportStaging staging, PlatformTransactionManager transactionManager,
+                                ExecutorService executor, ProductImportProperties properties) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.userRepository = userRepository;
+        this.sellerStatsService = sellerStatsService;
+        this.staging = staging;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Lê e valida o CSV (UTF-8, com cabeçalho) e agenda a aplicação dos registros válidos. Retorna o job na fila;
+     * erros no cabeçalho ou no formato do arquivo recusam a importação inteira.
+     */
+    public ProductImportJobDTO importCsv(String username, InputStream body) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
+        if (!IMPORTER_ROLES.contains(user.getRole())) {
+            throw new UserNotAllowedException("Apenas SELLERS e ADMINS podem importar produtos.");
+        }
+
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8),
+                64 * 1024));
+        Header header = readHeader(reader);
+
+        ProductImportJob job = transaction.execute(status ->
+                jobRepository.save(new ProductImportJob(user.getId(), Instant.now())));
+        long jobId = job.getId();
+        try {
+            transaction.executeWithoutResult(status -> stage(jobId, reader, header));
+        } catch (RuntimeException e) {
+            finish(jobId, null, ProductImportJob.Status.FAILED, "Arquivo recusado: " + e.getMessage());
+            throw e;
+        }
+
+        ProductImportJobDTO queued = toDTO(jobRepository.findById(jobId).orElseThrow());
+        executor.execute(() -> process(jobId, user.getId(), username));
+        return queued;
+    }
+
+    /**
+     * Andamento de uma importação; visível para o seller que a enviou e para ADMINs.
+     */
+    public ProductImportJobDTO getJob(Long id, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
+        ProductImportJob job = jobRepository.findById(id)
+                .orElseThrow(() -> new ImportJobNotFoundException("Importação com ID " + id + " não encontrada."));
+        if (!job.getSellerId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+            throw new ProductOwnershipException("Você não tem permissão para consultar esta importação.");
+        }
+        return toDTO(job);
+    }
+
+    /**
+     * Marca como falhos os jobs parados (instância encerrada no meio da importação) e remove os antigos.
+     */
+    @Scheduled(fixedDelayString = "${app.products.import.cleanup-interval-ms:600000}", initialDelay = 60000)
+    public void cleanUp() {
+        Instant now = Instant.now();
+        for (ProductImportJob job : jobRepository.findByStatusInAndUpdatedAtBefore(ACTIVE_STATUSES,
+                now.minus(properties.getStaleAfter()))) {
+            log.warn("Importação {} sem progresso desde {}: marcada como falha", job.getId(), job.getUpdatedAt());
+            finish(job.getId(), job.getSellerId(), ProductImportJob.Status.FAILED,
+                    "Importação interrompida: sem progresso desde " + job.getUpdatedAt() + ".");
+        }
+        Instant before = now.minus(properties.getRetention());
+        transaction.executeWithoutResult(status -> {
+            errorRepository.deleteByJobsFinishedBefore(before);
+            int removed = jobRepository.deleteFinishedBefore(before);
+            if (removed > 0) {
+                log.debug("{} importações antigas removidas", removed);
+            }
+        });
+    }
+
+    /**
+     * Interrompe os jobs em andamento no encerramento da instância; os que ainda estavam na fila ficam QUEUED
+     * até o {@link #cleanUp} marcá-los como falhos.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void process(long jobId, long sellerId, String username) {
+        try {
+            ProductImportJob job = transaction.execute(status -> start(jobId));
+            if (job == null) {
+                // Já marcado como falho pelo cleanUp enquanto esperava na fila
+                return;
+            }
+            long started = System.nanoTime();
+            long total = job.getTotalRows();
+            for (long after = 0; after < total; after += properties.getChunkSize()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Importação interrompida pelo encerramento da instância.");
+                }
+                long from = after;
+                long to = Math.min(after + properties.getChunkSize(), total);
+                ProductImportStaging.ChunkResult result = transaction.execute(status -> {
+                    ProductImportStaging.ChunkResult chunk = staging.merge(jobId, sellerId, username, from, to);
+                    jobRepository.addProgress(jobId, to, chunk.inserted(), chunk.updatedIds().size(), Instant.now());
+                    return chunk;
+                });
+                staging.evictFromCache(result.updatedIds());
+            }
+            finish(jobId, sellerId, ProductImportJob.Status.COMPLETED, null);
+            log.info("Importação {}: {} registros aplicados em {} ms", jobId, total,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Falha na importação {}", jobId, e);
+            finish(jobId, sellerId, ProductImportJob.Status.FAILED, "Falha ao aplicar os produtos: " + e.getMessage());
+        }
+    }
+
+    private ProductImportJob start(long jobId) {
+        ProductImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ProductImportJob.Status.QUEUED) {
+            return null;
+        }
+        job.setStatus(ProductImportJob.Status.RUNNING);
+        job.setUpdatedAt(Instant.now());
+        return job;
+    }
+
+    /**
+     * Encerra o job e descarta a staging. {@code sellerId} nulo: nada foi aplicado em products.
+     */
+    private void finish(long jobId, Long sellerId, ProductImportJob.Status result, String message) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                if (sellerId != null) {
+                    sellerStatsService.recalculate(sellerId);
+                }
+                staging.deleteRows(jobId);
+                jobRepository.findById(jobId).ifPresent(job -> {
+                    Instant now = Instant.now();
+                    job.setStatus(result);
+                    job.setMessage(truncate(message));
+                    job.setUpdatedAt(now);
+                    job.setFinishedAt(now);
+                });
+            });
+        } catch (RuntimeException e) {
+            // O cleanUp tenta de novo quando o job ficar parado por mais que stale-after
+            log.error("Falha ao encerrar a importação {}", jobId, e);
+        }
+    }
+
+    private void stage(long jobId, CsvReader reader, Header header) {
+        List<ProductImportError> errors = new ArrayList<>();
+        long[] counts = new long[2]; // registros lidos, registros recusados
+        staging.load(jobId, sink -> {
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                long index = ++counts[0];
+                ProductImportStaging.Row row;
+                try {
+                    row = header.parse(index, fields);
+                } catch (IllegalArgumentException e) {
+                    counts[1]++;
+                    if (errors.size() < properties.getMaxReportedErrors()) {
+                        errors.add(new ProductImportError(jobId, reader.recordLine(), e.getMessage()));
+                    }
+                    continue;
+                }
+                sink.add(row);
+            }
+        });
+        // Só depois da carga: o COPY ocupa a conexão até terminar
+        errorRepository.saveAll(errors);
+        ProductImportJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setTotalRows(counts[0]);
+        job.setInvalidRows(counts[1]);
+        job.setStatus(ProductImportJob.Status.QUEUED);
+        job.setUpdatedAt(Instant.now());
+    }
+
+    private static Header readHeader(CsvReader reader) {
+        List<String> names;
+        try {
+            names = reader.next();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Não foi possível ler o arquivo.", e);
+        }
+        if (names == null) {
+            throw new IllegalArgumentException("Arquivo vazio: a primeira linha deve ser o cabeçalho ("
+                    + String.join(",", COLUMNS) + ").");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).strip().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                // BOM deixado por planilhas
+                name = name.substring(1);
+            }
+            if (positions.putIfAbsent(name, i) != null) {
+                throw new IllegalArgumentException("Coluna repetida no cabeçalho: " + name + ".");
+            }
+        }
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no cabeçalho: " + COLUMNS.get(i) + ".");
+            }
+            columns[i] = position;
+        }
+        return new Header(names.size(), columns);
+    }
+
+    private ProductImportJobDTO toDTO(ProductImportJob job) {
+        return new ProductImportJobDTO(job, errorRepository.findByJobIdOrderByLineNumber(job.getId()));
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MESSAGE_LENGTH ? message : message.substring(0, MESSAGE_LENGTH);
+    }
+
+    /**
+     * Posição de cada coluna de {@link #COLUMNS} no arquivo. Aplica as mesmas regras do cadastro de produtos,
+     * com o SKU obrigatório.
+     */
+    record Header(int size, int[] columns) {
+
+        ProductImportStaging.Row parse(long index, List<String> fields) {
+            if (fields.size() != size) {
+                throw new IllegalArgumentException("Esperadas " + size + " colunas, encontradas " + fields.size() + ".");
+            }
+            String sku = text(fields, 0, 100);
+            String name = text(fields, 1, 255);
+            String description = text(fields, 2, 500);
+            return new ProductImportStaging.Row(index, sku, name, description, price(field(fields, 3)),
+                    quantity(field(fields, 4)));
+        }
+
+        private String field(List<String> fields, int column) {
+            return fields.get(columns[column]).strip();
+        }
+
+        private String text(List<String> fields, int column, int maxLength) {
+            String value = field(fields, column);
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Campo " + COLUMNS.get(column) + " vazio.");
+            }
+            if (value.length() > maxLength) {
+                throw new IllegalArgumentException("Campo " + COLUMNS.get(column) + " com mais de " + maxLength
+                        + " caracteres.");
+            }
+            // O PostgreSQL recusa o NUL no COPY e a carga inteira falharia; quebras de linha entre aspas são válidas
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                    throw new IllegalArgumentException("Campo " + COLUMNS.get(column) + " com caractere de controle "
+                            + String.format("U+%04X", (int) c) + ".");
+                }
+            }
+            return value;
+        }
+
+        private static BigDecimal price(String value) {
+            BigDecimal price;
+            try {
+                price = new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Preço inválido: " + abbreviate(value));
+            }
+            if (price.signum() < 0) {
+                throw new IllegalArgumentException("Preço negativo: " + abbreviate(value));
+            }
+            try {
+                price = price.setScale(2, RoundingMode.UNNECESSARY);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Preço com mais de 2 casas decimais: " + abbreviate(value));
+            }
+            if (price.precision() > 38) {
+                throw new IllegalArgumentException("Preço fora do limite: " + abbreviate(value));
+            }
+            return price;
+        }
+
+        private static int quantity(String value) {
+            int quantity;
+            try {
+                quantity = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Quantidade inválida: " + abbreviate(value));
+            }
+            if (quantity < 0) {
+                throw new IllegalArgumentException("Quantidade negativa: " + abbreviate(value));
+            }
+            return quantity;
+        }
+
+        private static String abbreviate(String value) {
+            return value.length() <= 50 ? value : value.substring(0, 50) + "...";
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.api.imports;
+
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.events.ProductEventOutbox;
+import com.api.model.Product;
+import com.api.model.ProductImportRow;
+import com.api.model.ProductOutboxEntry;
+import com.api.model.User;
+import com.api.repository.ProductImportRowRepository;
+import com.api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tabela de staging da importação: carga das linhas válidas e aplicação em products, bloco a bloco.
+ * No PostgreSQL a carga usa {@code COPY ... FROM STDIN} e cada bloco é um único comando
+ * {@code INSERT ... ON CONFLICT (created_by, sku)} que também grava os eventos do outbox. Nos demais bancos
+ * (H2 dos testes) as linhas são inseridas em lotes e os blocos aplicados pelo Hibernate, com o mesmo resultado.
+ * Os métodos exigem a transação do chamador.
+ */
+public class ProductImportStaging {
+
+    static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String COPY_ROWS = "COPY product_import_rows "
+            + "(job_id, row_index, sku, name, description, price, quantity) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_ROW = "INSERT INTO product_import_rows "
+            + "(job_id, row_index, sku, name, description, price, quantity) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // SKUs repetidos no mesmo bloco ficam com o último registro (o ON CONFLICT não altera a mesma linha duas vezes).
+    // Produtos sem nenhuma mudança não são regravados: não mudam updated_at nem geram eventos.
+    // xmax = 0 identifica as linhas inseridas (as atualizadas têm o xmax da própria transação).
+    private static final String MERGE_CHUNK = """
+            WITH chunk AS (
+                SELECT DISTINCT ON (sku) sku, name, description, price, quantity
+                FROM product_import_rows
+                WHERE job_id = ? AND row_index > ? AND row_index <= ?
+                ORDER BY sku, row_index DESC
+            ), upserted AS (
+                INSERT INTO products AS p (sku, name, description, price, quantity, created_by, updated_at)
+                SELECT sku, name, description, price, quantity, ?, now() FROM chunk
+                ON CONFLICT (created_by, sku) DO UPDATE SET name = EXCLUDED.name,
+                    description = EXCLUDED.description, price = EXCLUDED.price, quantity = EXCLUDED.quantity,
+                    updated_at = EXCLUDED.updated_at
+                WHERE (p.name, p.description, p.price, p.quantity)
+                    IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.description, EXCLUDED.price, EXCLUDED.quantity)
+                RETURNING p.id, p.sku, p.name, p.description, p.price, p.quantity, p.xmax = 0 AS inserted
+            )%s
+            SELECT id, inserted FROM upserted
+            """;
+
+    // Mesmo conteúdo que o ProductEventOutbox grava (ProductDTO em JSON)
+    private static final String OUTBOX_EVENTS = """
+            , events AS (
+                INSERT INTO product_outbox
+                    (event_type, product_id, seller_id, payload, created_at, available_at, attempts)
+                SELECT CASE WHEN inserted THEN 'CREATED' ELSE 'UPDATED' END, id, ?,
+                    json_build_object('id', id, 'sku', sku, 'name', name, 'description', description,
+                        'price', price, 'quantity', quantity, 'createdBy', ?)::text,
+                    now(), now(), 0
+                FROM upserted
+            )""";
+
+    /**
+     * Registro válido do arquivo, pronto para a staging.
+     */
+    record Row(long rowIndex, String sku, String name, String description, BigDecimal price, int quantity) {
+    }
+
+    @FunctionalInterface
+    interface RowSink {
+        void add(Row row) throws IOException;
+    }
+
+    /**
+     * Produz as linhas de um job, entregando cada uma ao sink assim que é lida.
+     */
+    @FunctionalInterface
+    interface RowSource {
+        void writeTo(RowSink sink) throws IOException;
+    }
+
+    /**
+     * Resultado de um bloco: produtos criados e IDs dos produtos alterados.
+     */
+    record ChunkResult(long inserted, List<Long> updatedIds) {
+    }
+
+    private final EntityManager entityManager;
+    private final ProductRepository productRepository;
+    private final ProductImportRowRepository rowRepository;
+    private final ProductEventOutbox productEventOutbox;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    public ProductImportStaging(EntityManager entityManager, ProductRepository productRepository,
+                                ProductImportRowRepository rowRepository, ProductEventOutbox productEventOutbox,
+                                CacheInvalidationPublisher cacheInvalidationPublisher) {
+        this.entityManager = entityManager;
+        this.productRepository = productRepository;
+        this.rowRepository = rowRepository;
+        this.productEventOutbox = productEventOutbox;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+    }
+
+    /**
+     * Grava na staging as linhas produzidas por {@code source}.
+     */
+    void load(long jobId, RowSource source) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copyIn(connection.unwrap(PGConnection.class), jobId, source);
+                } else {
+                    insertBatches(connection, jobId, source);
+                }
+            } catch (IOException e) {
+                // Normalmente o cliente interrompeu o envio do arquivo
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Aplica em products os registros (afterIndex, toIndex] da staging, em nome do seller.
+     */
+    ChunkResult merge(long jobId, long sellerId, String username, long afterIndex, long toIndex) {
+        ChunkResult result = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                connection.isWrapperFor(PGConnection.class)
+                        ? mergeWithSql(connection, jobId, sellerId, username, afterIndex, toIndex)
+                        : null);
+        if (result == null) {
+            result = mergeWithEntities(jobId, sellerId, afterIndex, toIndex);
+        }
+        return result;
+    }
+
+    void deleteRows(long jobId) {
+        rowRepository.deleteByJobId(jobId);
+    }
+
+    /**
+     * Remove do cache de segundo nível local os produtos alterados por SQL. Chamado depois do commit do bloco,
+     * para que uma leitura concorrente não volte a guardar o estado anterior.
+     */
+    void evictFromCache(Collection<Long> productIds) {
+        jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+        for (Long id : productIds) {
+            cache.evict(Product.class, id);
+        }
+    }
+
+    private void copyIn(PGConnection connection, long jobId, RowSource source) throws SQLException, IOException {
+        PGCopyOutputStream out = new PGCopyOutputStream(connection, COPY_ROWS, 64 * 1024);
+        try {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            source.writeTo(row -> {
+                writer.write(Long.toString(jobId));
+                writer.write(',');
+                writer.write(Long.toString(row.rowIndex()));
+                writer.write(',');
+                writeQuoted(writer, row.sku());
+                writer.write(',');
+                writeQuoted(writer, row.name());
+                writer.write(',');
+                writeQuoted(writer, row.description());
+                writer.write(',');
+                writer.write(row.price().toPlainString());
+                writer.write(',');
+                writer.write(Integer.toString(row.quantity()));
+                writer.write('\n');
+            });
+            writer.flush();
+            out.endCopy();
+        } finally {
+            // Falha no meio da carga: o COPY precisa ser cancelado antes do rollback
+            if (out.isActive()) {
+                out.cancelCopy();
+            }
+        }
+    }
+
+    private static void insertBatches(Connection connection, long jobId, RowSource source)
+            throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ROW)) {
+            int[] pending = {0};
+            source.writeTo(row -> {
+                try {
+                    statement.setLong(1, jobId);
+                    statement.setLong(2, row.rowIndex());
+                    statement.setString(3, row.sku());
+                    statement.setString(4, row.name());
+                    statement.setString(5, row.description());
+                    statement.setBigDecimal(6, row.price());
+                    statement.setInt(7, row.quantity());
+                    statement.addBatch();
+                    if (++pending[0] == INSERT_BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending[0] = 0;
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Falha ao gravar a linha " + row.rowIndex() + " na staging", e);
+                }
+            });
+            if (pending[0] > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    // Em CSV sem aspas, um texto vazio seria NULL; com aspas, só as próprias aspas precisam de escape
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private ChunkResult mergeWithSql(Connection connection, long jobId, long sellerId, String username,
+                                     long afterIndex, long toIndex) throws SQLException {
+        boolean events = productEventOutbox.isEnabled();
+        String sql = MERGE_CHUNK.formatted(events ? OUTBOX_EVENTS : "");
+        long inserted = 0;
+        List<Long> updatedIds = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, jobId);
+            statement.setLong(2, afterIndex);
+            statement.setLong(3, toIndex);
+            statement.setLong(4, sellerId);
+            if (events) {
+                statement.setLong(5, sellerId);
+                statement.setString(6, username);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean(2)) {
+                        inserted++;
+                    } else {
+                        updatedIds.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+        // Na transação do bloco: as outras instâncias só recebem a notificação se ele for confirmado
+        cacheInvalidationPublisher.productsChanged(updatedIds);
+        return new ChunkResult(inserted, updatedIds);
+    }
+
+    private ChunkResult mergeWithEntities(long jobId, long sellerId, long afterIndex, long toIndex) {
+        User seller = entityManager.getReference(User.class, sellerId);
+        Set<Long> insertedIds = new HashSet<>();
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        for (ProductImportRow row : rowRepository.findChunk(jobId, afterIndex, toIndex)) {
+            Product product = productRepository.findByCreatedByIdAndSku(sellerId, row.getSku()).orElse(null);
+            if (product == null) {
+                product = new Product(null, row.getName(), row.getDescription(), row.getPrice(), row.getQuantity(),
+                        seller);
+                product.setSku(row.getSku());
+                productRepository.save(product);
+                productEventOutbox.record(ProductOutboxEntry.Type.CREATED, product);
+                insertedIds.add(product.getId());
+            } else if (!sameContent(product, row)) {
+                product.setName(row.getName());
+                product.setDescription(row.getDescription());
+                product.setPrice(row.getPrice());
+                product.setQuantity(row.getQuantity());
+                productRepository.save(product);
+                productEventOutbox.record(ProductOutboxEntry.Type.UPDATED, product);
+                // SKU repetido no mesmo bloco: o produto criado acima conta só como criado
+                if (!insertedIds.contains(product.getId())) {
+                    cacheInvalidationPublisher.productChanged(product.getId());
+                    updatedIds.add(product.getId());
+                }
+            }
+        }
+        return new ChunkResult(insertedIds.size(), List.copyOf(updatedIds));
+    }
+
+    private static boolean sameContent(Product product, ProductImportRow row) {
+        return product.getName().equals(row.getName())
+                && product.getDescription().equals(row.getDescription())
+                && product.getPrice().compareTo(row.getPrice()) == 0
+                && Objects.equals(product.getQuantity(), row.getQuantity());
+    }
+}
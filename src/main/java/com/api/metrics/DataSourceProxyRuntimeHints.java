@@ -0,0 +1,31 @@
+package com.api.metrics;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Hints para a imagem nativa: o datasource-proxy cria proxies JDK (ProxyJdbcObject + interface JDBC)
+ * para conexões, statements e result sets, e a imagem nativa só aceita proxies declarados no build.
+ */
+class DataSourceProxyRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final Class<?>[] PROXIED_JDBC_TYPES = {
+            DataSource.class, Connection.class, Statement.class, PreparedStatement.class,
+            CallableStatement.class, ResultSet.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : PROXIED_JDBC_TYPES) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type);
+        }
+    }
+}
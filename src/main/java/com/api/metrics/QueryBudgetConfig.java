@@ -0,0 +1,56 @@
+package com.api.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+
+/**
+ * Envolve o DataSource principal com o datasource-proxy para contar e medir os comandos SQL
+ * e, quando há um ObservationRegistry, gerar um span por conexão e por comando executado.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+@ImportRuntimeHints(DataSourceProxyRuntimeHints.class)
+public class QueryBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor queryBudgetDataSourcePostProcessor(ObjectProvider<QueryBudgetProperties> properties,
+                                                                       ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Apenas o DataSource usado pela aplicação; pools internos do roteamento ficam de fora
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && "dataSource".equals(beanName) && properties.getObject().isEnabled()) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                            .name("produtos")
+                            .listener(new QueryBudgetListener(properties.getObject()));
+                    if (observationRegistry.getIfAvailable() != null) {
+                        builder.listener(tracingListener(observationRegistry));
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static DataSourceObservationListener tracingListener(ObjectProvider<ObservationRegistry> observationRegistry) {
+        DataSourceObservationListener listener =
+                new DataSourceObservationListener(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        // Spans de leitura do ResultSet deixam a árvore muito extensa sem acrescentar informação útil
+        listener.setSupportedTypes(EnumSet.of(JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+        return listener;
+    }
+}
@@ -0,0 +1,69 @@
+package com.api.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * Listener do datasource-proxy: soma cada comando nas estatísticas da requisição e registra
+ * os comandos que passam do limite de lentidão, identificando o método do controller.
+ */
+public class QueryBudgetListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetListener.class);
+
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetListener(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : SqlNormalizer.normalize(queryInfoList.get(0).getQuery());
+
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) {
+            stats.statementFinished(sql);
+        }
+
+        if (execInfo.getElapsedTime() >= properties.getSlowStatementMs()) {
+            log.warn("Comando SQL lento ({} ms) em {}: {}", execInfo.getElapsedTime(), currentHandler(), sql);
+        }
+    }
+
+    /**
+     * Método do controller que atende a requisição atual (ex.: ProductController.getAllProducts).
+     */
+    static String currentHandler() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return handlerOf(attributes.getRequest());
+        }
+        return "fora de requisição";
+    }
+
+    static String handlerOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
@@ -0,0 +1,29 @@
+package com.api.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limites usados para apontar requisições com consultas demais ou comandos lentos (prefixo app.query-budget).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * Ativa o proxy do DataSource que conta e mede os comandos SQL.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Quantidade máxima de comandos SQL por requisição antes de registrar um alerta.
+     */
+    private int maxStatementsPerRequest = 15;
+
+    /**
+     * Tempo (em milissegundos) a partir do qual um comando é considerado lento.
+     */
+    private long slowStatementMs = 200;
+}
@@ -0,0 +1,85 @@
+package com.api.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Acumula os comandos SQL executados durante a requisição atual: quantidade, tempo gasto no JDBC e
+ * quantas vezes cada comando normalizado se repetiu (para apontar N+1).
+ * Preenchido pelo {@link QueryBudgetListener} e publicado pelo {@link RequestMetricsFilter}.
+ */
+public final class RequestDbStats {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int statementCount;
+    private long jdbcTimeNanos;
+    private long statementStart;
+
+    static RequestDbStats start() {
+        RequestDbStats stats = new RequestDbStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Estatísticas da requisição em andamento na thread atual, ou null fora de uma requisição HTTP.
+     */
+    public static RequestDbStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Executa a ação contando os comandos SQL que ela dispara. Usado nos testes de orçamento de consultas.
+     */
+    public static <T> RequestDbStats capture(Supplier<T> action) {
+        RequestDbStats previous = CURRENT.get();
+        RequestDbStats stats = start();
+        try {
+            action.get();
+            return stats;
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                clear();
+            }
+        }
+    }
+
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    void statementFinished(String normalizedSql) {
+        statementCount++;
+        jdbcTimeNanos += System.nanoTime() - statementStart;
+        statements.merge(normalizedSql, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcTimeNanos() {
+        return jdbcTimeNanos;
+    }
+
+    /**
+     * Comandos que mais se repetiram na requisição, do mais frequente para o menos frequente.
+     */
+    public List<Map.Entry<String, Integer>> mostRepeated(int limit) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica, por endpoint, quantos comandos SQL a requisição executou, quanto tempo passou no JDBC
+ * e quantos bytes alocou na thread que a atendeu. Roda antes do filtro do Spring Security para
+ * incluir a verificação do JWT. Requisições acima do orçamento de comandos são registradas no log
+ * com os comandos mais repetidos (indício de N+1).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudget;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryBudgetProperties queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestDbStats stats = RequestDbStats.start();
+        long allocatedBefore = allocatedBytes();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long allocated = allocatedBytes() - allocatedBefore;
+            RequestDbStats.clear();
+            record(request, stats, allocated);
+            checkBudget(request, stats);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, RequestDbStats stats) {
+        if (stats.getStatementCount() > queryBudget.getMaxStatementsPerRequest()) {
+            log.warn("{} executou {} comandos SQL (orçamento {}). Mais repetidos: {}",
+                    QueryBudgetListener.handlerOf(request), stats.getStatementCount(),
+                    queryBudget.getMaxStatementsPerRequest(), stats.mostRepeated(3));
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestDbStats stats, long allocatedBytes) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("Comandos SQL executados por requisição")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("http.server.requests.db.time")
+                .description("Tempo gasto no JDBC por requisição")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcTimeNanos(), TimeUnit.NANOSECONDS);
+        if (allocatedBytes >= 0) {
+            DistributionSummary.builder("http.server.requests.allocated")
+                    .description("Bytes alocados na thread da requisição")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(allocatedBytes);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.api.metrics;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Exportadores de spans adicionais ao OTLP (configurado por management.otlp.tracing.endpoint).
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Grava os spans em arquivo quando app.tracing.file.path está definido.
+     * O fechamento fica a cargo do BatchSpanProcessor, que ainda descarrega os últimos spans no shutdown.
+     */
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "app.tracing.file", name = "path")
+    public SpanExporter fileSpanExporter(@Value("${app.tracing.file.path}") Path path) throws IOException {
+        return new FileSpanExporter(path);
+    }
+}
@@ -2,20 +2,34 @@ package com.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "products")
+// Índices para as listagens por criador em ordem de ID e para o feed de alterações (keyset);
+// o SKU é único por seller e identifica o produto na importação em CSV
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_by_id", columnList = "created_by, id"),
+        @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_products_created_by_sku", columnNames = {"created_by", "sku"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Código do produto no catálogo do seller (opcional)
+    @Column(length = 100)
+    private String sku;
+
     @Column(nullable = false)
     private String name;
 
@@ -28,9 +42,30 @@ public class Product {
     @Column(nullable = false)
     private Integer quantity;
 
-    @ManyToOne
+    // LAZY: as consultas de listagem buscam o criador via join (ver ProductRepository) para evitar N+1
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy; // Seller que cadastrou o produto
+
+    // Momento da última escrita, em microssegundos (precisão da coluna); ordena o feed de alterações
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Product(Long id, String name, String description, BigDecimal price, Integer quantity, User createdBy) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.quantity = quantity;
+        this.createdBy = createdBy;
+    }
+
+    // Chamado só quando alguma coluna mudou: salvar sem alterações não reenvia o produto no feed
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
 
 
@@ -0,0 +1,39 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Linha do CSV recusada numa importação, com o motivo. Só as primeiras app.products.import.max-reported-errors
+ * de cada job são gravadas; o total fica em {@link ProductImportJob#getInvalidRows()}.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_import_errors",
+        indexes = @Index(name = "idx_product_import_errors_job_line", columnList = "job_id, line_number"))
+public class ProductImportError {
+
+    public static final int MESSAGE_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private long lineNumber;
+
+    @Column(nullable = false, length = MESSAGE_LENGTH)
+    private String message;
+
+    public ProductImportError(Long jobId, long lineNumber, String message) {
+        this.jobId = jobId;
+        this.lineNumber = lineNumber;
+        // Um motivo maior que a coluna faria o saveAll recusar o arquivo inteiro
+        this.message = message.length() <= MESSAGE_LENGTH ? message : message.substring(0, MESSAGE_LENGTH);
+    }
+}
@@ -0,0 +1,68 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Importação de produtos em CSV de um seller (ver ProductImportService). As linhas válidas passam pela
+ * tabela de staging product_import_rows; os contadores mostram o andamento enquanto o job roda.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_import_jobs")
+public class ProductImportJob {
+
+    public enum Status { RECEIVING, QUEUED, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long sellerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    // Registros do arquivo, sem o cabeçalho
+    @Column(nullable = false)
+    private long totalRows;
+
+    @Column(nullable = false)
+    private long invalidRows;
+
+    // Registros já aplicados em products (válidos ou não); chega a totalRows quando o job termina
+    @Column(nullable = false)
+    private long processedRows;
+
+    @Column(nullable = false)
+    private long insertedRows;
+
+    @Column(nullable = false)
+    private long updatedRows;
+
+    // Motivo da falha do job
+    @Column(length = 500)
+    private String message;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Última atualização; jobs parados há mais de app.products.import.stale-after são dados como interrompidos
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    private Instant finishedAt;
+
+    public ProductImportJob(Long sellerId, Instant createdAt) {
+        this.sellerId = sellerId;
+        this.status = Status.RECEIVING;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Linha válida de uma importação, na tabela de staging. Gravada com COPY e lida por SQL nativo
+ * (ver ProductImportStaging); mapeada para que o Hibernate valide a tabela e a crie no H2 dos testes.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_import_rows")
+public class ProductImportRow {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false, length = 100)
+    private String sku;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, length = 500)
+    private String description;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @Getter
+    public static class Key implements Serializable {
+
+        @Column(name = "job_id")
+        private Long jobId;
+
+        // Posição do registro no arquivo (1 = primeiro depois do cabeçalho)
+        @Column(name = "row_index")
+        private Long rowIndex;
+    }
+}
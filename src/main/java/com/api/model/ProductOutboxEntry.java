@@ -0,0 +1,64 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Evento de produto gravado na mesma transação da escrita (outbox) e entregue depois aos assinantes
+ * pelo ProductEventRelay. Fica pendente até {@code publishedAt} ou {@code failedAt} ser preenchido.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_outbox")
+public class ProductOutboxEntry {
+
+    public enum Type { CREATED, UPDATED, STOCK_CHANGED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private Long sellerId;
+
+    // ProductDTO em JSON, com o estado do produto depois da escrita (antes dela, na exclusão)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Próxima tentativa de entrega; avança a cada falha
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private Instant publishedAt;
+
+    // Desistência depois de app.outbox.max-attempts falhas
+    private Instant failedAt;
+
+    public ProductOutboxEntry(Type type, Long productId, Long sellerId, String payload, Instant createdAt) {
+        this.type = type;
+        this.productId = productId;
+        this.sellerId = sellerId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.availableAt = createdAt;
+    }
+}
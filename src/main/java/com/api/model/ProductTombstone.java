@@ -0,0 +1,29 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Registro da exclusão de um produto, para que o feed de alterações informe a remoção
+ * (ver ProductChangeFeedService). Removido depois de app.products.changes.tombstone-retention.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_tombstones",
+        indexes = @Index(name = "idx_product_tombstones_deleted_at_id", columnList = "deleted_at, product_id"))
+public class ProductTombstone {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    private Long sellerId;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,47 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Revogação de JWT gravada no banco e replicada na memória de cada instância (ver TokenRevocationService).
+ * TOKEN revoga um único token pelo jti (logout); USER revoga todos os tokens de um username emitidos
+ * antes de {@code revokedAt} (exclusão da conta ou troca de username).
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    public enum Kind { TOKEN, USER }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    // jti (TOKEN) ou username (USER)
+    @Column(name = "token_key", nullable = false)
+    private String key;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    // Depois disso nenhum token afetado continua válido e o registro pode ser removido
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public RevokedToken(Kind kind, String key, Instant revokedAt, Instant expiresAt) {
+        this.kind = kind;
+        this.key = key;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
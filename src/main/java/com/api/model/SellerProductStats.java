@@ -0,0 +1,46 @@
+package com.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Resumo dos produtos de cada seller, mantido incrementalmente a cada escrita em produtos
+ * (ver SellerStatsService). Sem chave estrangeira para users, para não impedir a exclusão de contas.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "seller_product_stats")
+public class SellerProductStats {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Column(nullable = false)
+    private long productCount;
+
+    @Column(nullable = false)
+    private long totalQuantity;
+
+    // Soma de preço * quantidade de todos os produtos
+    @Column(nullable = false)
+    private BigDecimal totalStockValue;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    // Usado pela consulta de agregação em SellerProductStatsRepository
+    public SellerProductStats(long productCount, long totalQuantity, BigDecimal totalStockValue,
+                              BigDecimal minPrice, BigDecimal maxPrice) {
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+        this.totalStockValue = totalStockValue;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+}
@@ -0,0 +1,21 @@
+package com.api.repository;
+
+import com.api.model.ProductImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductImportErrorRepository extends JpaRepository<ProductImportError, Long> {
+
+    List<ProductImportError> findByJobIdOrderByLineNumber(Long jobId);
+
+    // Erros dos jobs removidos por ProductImportJobRepository.deleteFinishedBefore
+    @Modifying
+    @Query("DELETE FROM ProductImportError e WHERE e.jobId IN " +
+            "(SELECT j.id FROM ProductImportJob j WHERE j.finishedAt < :before)")
+    int deleteByJobsFinishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,29 @@
+package com.api.repository;
+
+import com.api.model.ProductImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductImportJobRepository extends JpaRepository<ProductImportJob, Long> {
+
+    // Soma o resultado de um bloco aplicado, na mesma transação do bloco
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.processedRows = :processed, " +
+            "j.insertedRows = j.insertedRows + :inserted, j.updatedRows = j.updatedRows + :updated, " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("processed") long processed, @Param("inserted") long inserted,
+                    @Param("updated") long updated, @Param("now") Instant now);
+
+    List<ProductImportJob> findByStatusInAndUpdatedAtBefore(Collection<ProductImportJob.Status> statuses,
+                                                           Instant before);
+
+    @Modifying
+    @Query("DELETE FROM ProductImportJob j WHERE j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,22 @@
+package com.api.repository;
+
+import com.api.model.ProductImportRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProductImportRowRepository extends JpaRepository<ProductImportRow, ProductImportRow.Key> {
+
+    // Linhas do bloco (afterIndex, toIndex], em ordem do arquivo
+    @Query("SELECT r FROM ProductImportRow r WHERE r.key.jobId = :jobId " +
+            "AND r.key.rowIndex > :afterIndex AND r.key.rowIndex <= :toIndex ORDER BY r.key.rowIndex")
+    List<ProductImportRow> findChunk(@Param("jobId") Long jobId, @Param("afterIndex") long afterIndex,
+                                     @Param("toIndex") long toIndex);
+
+    @Modifying
+    @Query("DELETE FROM ProductImportRow r WHERE r.key.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,29 @@
+package com.api.repository;
+
+import com.api.model.ProductOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEntry, Long> {
+
+    // Próximos eventos pendentes, bloqueados até o fim da transação; linhas já bloqueadas por outra instância
+    // são puladas em vez de esperadas, então várias instâncias entregam lotes diferentes em paralelo
+    @Query(value = "SELECT * FROM product_outbox " +
+            "WHERE published_at IS NULL AND failed_at IS NULL AND available_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ProductOutboxEntry> lockNextBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE ProductOutboxEntry e SET e.publishedAt = :now WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM ProductOutboxEntry e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -1,25 +1,59 @@
 package com.api.repository;
 
 import com.api.model.Product;
-import com.api.model.User;
+import com.api.enums.Role;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
-    // Retorna todos os produtos criados por um usuário específico
-    List<Product> findByCreatedBy(User createdBy);
+    // Listagem paginada já trazendo o criador no mesmo select
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Page<Product> findAll(Pageable pageable);
+
+    // Página (keyset) dos produtos de um criador, após o ID informado; só retorna produtos de quem tem um dos papéis
+    @Query("SELECT p FROM Product p JOIN FETCH p.createdBy u " +
+            "WHERE u.id = :userId AND u.role IN :roles AND p.id > :afterId ORDER BY p.id")
+    List<Product> findPageByCreator(@Param("userId") Long userId, @Param("roles") Collection<Role> roles,
+                                    @Param("afterId") long afterId, Limit limit);
+
+    // Mesma página, pelo username do criador (produtos do usuário autenticado)
+    @Query("SELECT p FROM Product p JOIN FETCH p.createdBy u " +
+            "WHERE u.username = :username AND p.id > :afterId ORDER BY p.id")
+    List<Product> findPageByCreatorUsername(@Param("username") String username,
+                                            @Param("afterId") long afterId, Limit limit);
+
+    // Produtos criados ou alterados depois do cursor (updatedAt, id) e até o limite de estabilização do feed
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.createdBy " +
+            "WHERE (p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId)) " +
+            "AND p.updatedAt <= :until ORDER BY p.updatedAt, p.id")
+    List<Product> findChangedSince(@Param("since") Instant since, @Param("afterId") long afterId,
+                                   @Param("until") Instant until, Limit limit);
+
+    // Produto de um seller pelo SKU (único por seller)
+    Optional<Product> findByCreatedByIdAndSku(Long sellerId, String sku);
+
+    boolean existsByCreatedByIdAndSku(Long sellerId, String sku);
 
     // Retorna todos os produtos ordenados por preço (ASC ou DESC)
-    @Query("SELECT p FROM Product p ORDER BY p.price " +
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.createdBy ORDER BY p.price " +
             "ASC NULLS LAST") // NULLS LAST para evitar problemas com preços nulos
     List<Product> findAllSortedByPriceAsc();
 
-    @Query("SELECT p FROM Product p ORDER BY p.price " +
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.createdBy ORDER BY p.price " +
             "DESC NULLS LAST")
     List<Product> findAllSortedByPriceDesc();
 
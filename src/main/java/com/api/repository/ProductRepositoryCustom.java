@@ -0,0 +1,18 @@
+package com.api.repository;
+
+import com.api.model.Product;
+
+import java.util.List;
+
+/**
+ * Consultas do ProductRepository implementadas diretamente sobre a Session do Hibernate.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Carrega os produtos pelos IDs, consultando primeiro o contexto de persistência e o cache de segundo nível
+     * e buscando o restante com {@code WHERE id IN (...)} em blocos. A lista retornada segue a ordem de
+     * {@code ids}, com {@code null} na posição dos IDs inexistentes.
+     */
+    List<Product> findAllByIdInOrder(List<Long> ids);
+}
@@ -0,0 +1,27 @@
+package com.api.repository;
+
+import com.api.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.List;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    // Quantidade máxima de IDs por comando SQL
+    static final int ID_CHUNK_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findAllByIdInOrder(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .withBatchSize(ID_CHUNK_SIZE)
+                .enableOrderedReturn(true)
+                .enableSessionCheck(true)
+                .multiLoad(ids);
+    }
+}
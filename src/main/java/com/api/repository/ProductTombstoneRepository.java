@@ -0,0 +1,25 @@
+package com.api.repository;
+
+import com.api.model.ProductTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    // Exclusões depois do cursor (deletedAt, productId) e até o limite de estabilização do feed
+    @Query("SELECT t FROM ProductTombstone t " +
+            "WHERE (t.deletedAt > :since OR (t.deletedAt = :since AND t.productId > :afterId)) " +
+            "AND t.deletedAt <= :until ORDER BY t.deletedAt, t.productId")
+    List<ProductTombstone> findDeletedSince(@Param("since") Instant since, @Param("afterId") long afterId,
+                                            @Param("until") Instant until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ProductTombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") Instant before);
+}
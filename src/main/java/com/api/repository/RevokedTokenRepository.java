@@ -0,0 +1,33 @@
+package com.api.repository;
+
+import com.api.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Revogações gravadas a partir de um instante e ainda em vigor (carga inicial e sincronização incremental)
+    @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<RevokedToken> findActiveSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    // Revogação de um jti, gravada só se ainda não existir; devolve 0 quando já foi gravada. Duas gravações
+    // simultâneas passam pelo NOT EXISTS e a segunda é recusada por uk_revoked_tokens_token_key (V7)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (kind, token_key, revoked_at, expires_at) " +
+            "SELECT 'TOKEN', :jti, :revokedAt, :expiresAt " +
+            "WHERE NOT EXISTS (SELECT 1 FROM revoked_tokens WHERE kind = 'TOKEN' AND token_key = :jti)",
+            nativeQuery = true)
+    int insertTokenIfAbsent(@Param("jti") String jti, @Param("revokedAt") Instant revokedAt,
+                            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
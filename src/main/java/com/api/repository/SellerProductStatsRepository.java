@@ -0,0 +1,54 @@
+package com.api.repository;
+
+import com.api.model.SellerProductStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface SellerProductStatsRepository extends JpaRepository<SellerProductStats, Long> {
+
+    // Aplica a variação de uma escrita em um único UPDATE atômico; retorna 0 se o seller ainda não tem resumo
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SellerProductStats s SET s.productCount = s.productCount + :count, " +
+            "s.totalQuantity = s.totalQuantity + :quantity, " +
+            "s.totalStockValue = s.totalStockValue + :value " +
+            "WHERE s.sellerId = :sellerId")
+    int applyDelta(@Param("sellerId") Long sellerId, @Param("count") long count,
+                   @Param("quantity") long quantity, @Param("value") BigDecimal value);
+
+    // Mesma variação, ampliando a faixa de preço com o preço do produto criado ou alterado
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SellerProductStats s SET s.productCount = s.productCount + :count, " +
+            "s.totalQuantity = s.totalQuantity + :quantity, " +
+            "s.totalStockValue = s.totalStockValue + :value, " +
+            "s.minPrice = CASE WHEN s.minPrice IS NULL OR :price < s.minPrice THEN :price ELSE s.minPrice END, " +
+            "s.maxPrice = CASE WHEN s.maxPrice IS NULL OR :price > s.maxPrice THEN :price ELSE s.maxPrice END " +
+            "WHERE s.sellerId = :sellerId")
+    int applyDeltaWithPrice(@Param("sellerId") Long sellerId, @Param("count") long count,
+                            @Param("quantity") long quantity, @Param("value") BigDecimal value,
+                            @Param("price") BigDecimal price);
+
+    // Recalcula a faixa de preço só quando o preço removido era o mínimo ou o máximo
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SellerProductStats s SET " +
+            "s.minPrice = (SELECT MIN(p.price) FROM Product p WHERE p.createdBy.id = :sellerId), " +
+            "s.maxPrice = (SELECT MAX(p.price) FROM Product p WHERE p.createdBy.id = :sellerId) " +
+            "WHERE s.sellerId = :sellerId AND (s.minPrice = :removedPrice OR s.maxPrice = :removedPrice)")
+    int refreshPriceRangeIfBoundary(@Param("sellerId") Long sellerId, @Param("removedPrice") BigDecimal removedPrice);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SellerProductStats s WHERE s.sellerId = :sellerId")
+    Optional<SellerProductStats> findByIdForUpdate(@Param("sellerId") Long sellerId);
+
+    // Calcula o resumo completo a partir da tabela de produtos (backfill e leitura sem resumo gravado)
+    @Query("SELECT new com.api.model.SellerProductStats(COUNT(p), COALESCE(SUM(p.quantity), 0), " +
+            "COALESCE(SUM(p.price * p.quantity), 0), MIN(p.price), MAX(p.price)) " +
+            "FROM Product p WHERE p.createdBy.id = :sellerId")
+    SellerProductStats aggregate(@Param("sellerId") Long sellerId);
+}
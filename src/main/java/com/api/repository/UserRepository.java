@@ -1,10 +1,29 @@
 package com.api.repository;
 
 import com.api.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Consulta usada em quase toda requisição (filtro JWT e services): resultado guardado no cache de consultas
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-username-query")
+    })
     Optional<User> findByUsername(String username);
+
+    // Trava a linha do usuário até o fim da transação (serializa a criação do resumo de produtos do seller)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
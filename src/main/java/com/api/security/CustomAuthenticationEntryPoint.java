@@ -1,6 +1,6 @@
 package com.api.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.exception.ErrorResponseWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,23 +9,14 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
-    @Override
-    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
-        response.setStatus(HttpStatus.UNAUTHORIZED.value());
-        response.setContentType("application/json");
 
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", System.currentTimeMillis());
-        errorDetails.put("status", HttpStatus.UNAUTHORIZED.value());
-        errorDetails.put("error", "Acesso negado");
-        errorDetails.put("message", "Você não tem permissão para acessar este recurso.");
-        errorDetails.put("path", request.getRequestURI());
+    private static final ErrorResponseWriter.Template UNAUTHORIZED = ErrorResponseWriter.template(
+            HttpStatus.UNAUTHORIZED, "Acesso negado", "Você não tem permissão para acessar este recurso.");
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        response.getWriter().write(objectMapper.writeValueAsString(errorDetails));
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
+        UNAUTHORIZED.send(response, request.getRequestURI());
     }
 }
@@ -1,5 +1,10 @@
 package com.api.security;
 
+import com.api.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,10 +22,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   ObservationRegistry observationRegistry,
+                                   TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.observationRegistry = observationRegistry;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -34,12 +45,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authorizationHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+        Claims claims;
+        try {
+            claims = Observation.createNotStarted("security.jwt.verification", observationRegistry)
+                    .contextualName("jwt parse")
+                    .observe(() -> jwtUtil.parseToken(token));
+        } catch (JwtException e) {
+            // Expirado, assinatura inválida ou chave desconhecida: segue sem autenticação e recebe 401,
+            // sinal para o cliente renovar o token em /auth/refresh
+            chain.doFilter(request, response);
+            return;
+        }
+        String username = claims.getSubject();
+
+        // Refresh token não vale como token de acesso. Token revogado (logout, conta excluída) segue sem
+        // autenticação, sem consultar o usuário no banco
+        if (jwtUtil.isRefreshToken(claims)
+                || tokenRevocationService.isRevoked(claims.getId(), username, claims.getIssuedAt())) {
+            chain.doFilter(request, response);
+            return;
+        }
 
+        // A assinatura e a expiração já foram verificadas no parse
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = Observation.createNotStarted("security.user.lookup", observationRegistry)
+                    .contextualName("user lookup")
+                    .observe(() -> userDetailsService.loadUserByUsername(username));
 
-            if (jwtUtil.validateToken(token, userDetails.getUsername())) {
+            if (username.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
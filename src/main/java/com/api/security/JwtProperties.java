@@ -0,0 +1,40 @@
+package com.api.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chaves e validade dos tokens (prefixo jwt). Todas as instâncias usam as mesmas chaves, então um token emitido
+ * por uma é aceito pelas outras e continua válido depois de um restart.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /**
+     * Segredo HS256 usado para assinar os tokens, com pelo menos 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * Segredos anteriores, aceitos apenas na verificação. Na rotação, o segredo atual passa para esta lista
+     * e sai dela quando os tokens assinados com ele expirarem (validade do refresh token).
+     */
+    private List<String> previousSecrets = new ArrayList<>();
+
+    /**
+     * Validade do token de acesso enviado em cada requisição.
+     */
+    private Duration accessTokenValidity = Duration.ofMinutes(15);
+
+    /**
+     * Validade do refresh token, trocado por um novo token de acesso em /auth/refresh sem pedir a senha.
+     */
+    private Duration refreshTokenValidity = Duration.ofDays(7);
+}
@@ -1,46 +1,151 @@
 package com.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.stereotype.Component;
 
+/**
+ * Emite e verifica os tokens de acesso e os refresh tokens. Os tokens são assinados com a chave de jwt.secret
+ * e levam no cabeçalho o kid (impressão digital da chave), que escolhe a chave de verificação entre a atual
+ * e as de jwt.previous-secrets.
+ */
 @Component
+@ImportRuntimeHints(JwtRuntimeHints.class)
 public class JwtUtil {
 
-    private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256); // Chave Segura
+    static final String TOKEN_TYPE_CLAIM = "token_type";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
 
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys = new LinkedHashMap<>();
+    private final Duration accessTokenValidity;
+    private final Duration refreshTokenValidity;
+
+    // Thread-safe: montado uma vez em vez de a cada verificação
+    private final JwtParser parser;
+
+    public JwtUtil(JwtProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("jwt.secret não configurado (variável JWT_SECRET).");
+        }
+        this.signingKeyId = keyId(properties.getSecret());
+        this.signingKey = hmacKey(properties.getSecret(), "jwt.secret");
+        verificationKeys.put(signingKeyId, signingKey);
+        for (String previous : properties.getPreviousSecrets()) {
+            if (previous != null && !previous.isBlank()) {
+                verificationKeys.putIfAbsent(keyId(previous), hmacKey(previous, "jwt.previous-secrets"));
+            }
+        }
+        this.accessTokenValidity = properties.getAccessTokenValidity();
+        this.refreshTokenValidity = properties.getRefreshTokenValidity();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = header.getKeyId() == null ? null : verificationKeys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Chave de assinatura desconhecida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Token de acesso, enviado no cabeçalho Authorization de cada requisição.
+     */
     public String generateToken(String username, String role) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
+                .setId(UUID.randomUUID().toString()) // jti, usado na revogação do token no logout
                 .setSubject(username)
                 .claim("role", role) // Adicionando a role dentro do token
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // 1h
-                .signWith(SECRET_KEY)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidity.toMillis()))
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Refresh token: aceito somente em /auth/refresh (e no logout), nunca como token de acesso.
+     */
+    public String generateRefreshToken(String username) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenValidity.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    public Duration getAccessTokenValidity() {
+        return accessTokenValidity;
+    }
 
-    public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+    /**
+     * Verifica a assinatura e a expiração e devolve as claims (jti, subject, iat, exp).
+     */
+    public Claims parseToken(String token) {
+        return getClaims(token);
     }
 
-    public boolean validateToken(String token, String username) {
-        return extractUsername(token).equals(username) && !isTokenExpired(token);
+    /**
+     * Como {@link #parseToken(String)}, exigindo que seja um refresh token.
+     */
+    public Claims parseRefreshToken(String token) {
+        Claims claims = getClaims(token);
+        if (!isRefreshToken(claims)) {
+            throw new UnsupportedJwtException("O token informado não é um refresh token.");
+        }
+        return claims;
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Key hmacKey(String secret, String property) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException(property + " precisa ter pelo menos 32 bytes para o HS256.");
+        }
+        return Keys.hmacShaKeyFor(bytes);
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+    // Primeiros 8 bytes do SHA-256 do segredo: igual em todas as instâncias e sem expor o segredo
+    static String keyId(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
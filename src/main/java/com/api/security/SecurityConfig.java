@@ -1,7 +1,13 @@
 package com.api.security;
 
+import com.api.exception.ErrorResponseWriter;
+import com.api.service.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,27 +22,37 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(JwtProperties.class)
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final TokenRevocationService tokenRevocationService;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                          ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                          TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, userDetailsService, observationRegistry, tokenRevocationService);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, Environment environment) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .exceptionHandling(exception -> exception
@@ -51,19 +67,30 @@ public class SecurityConfig {
                         // Apenas ADMIN pode criar novos ADMINs
                         .requestMatchers(HttpMethod.POST, "/auth/register/admin").hasRole("ADMIN")
 
-                        // Permitir login e Swagger sem autenticação
+                        // Permitir login, renovação do token e Swagger sem autenticação
                         .requestMatchers(
                                 "/auth/login",
+                                "/auth/refresh",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html"
                         ).permitAll()
 
-                        // Permitir GET em /products e /products/{id} para todos
-                        .requestMatchers(HttpMethod.GET, "/products", "/products/{id}").permitAll()
+                        // Health check aberto; coleta do Prometheus livre só na porta de gerenciamento separada
+                        // (profiles docker e prod), que não é publicada junto com a API. Na porta da API, só ADMIN
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(prometheusOnManagementPort(environment)).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+
+                        // Exportação do catálogo completo apenas para ADMINS
+                        .requestMatchers(HttpMethod.GET, "/products/export").hasRole("ADMIN")
+
+                        // Permitir GET em /products, /products/changes e /products/{id} para todos
+                        .requestMatchers(HttpMethod.GET, "/products", "/products/changes", "/products/{id}").permitAll()
 
                         // Restringir operações em produtos apenas para SELLERS e ADMINS
-                        .requestMatchers(HttpMethod.POST, "/products").hasAnyRole("SELLER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/products", "/products/import").hasAnyRole("SELLER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/products/import/{id}").hasAnyRole("SELLER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/products/{id}").hasAnyRole("SELLER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/products/{id}").hasAnyRole("SELLER", "ADMIN")
 
@@ -78,18 +105,27 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Requisições ao /actuator/prometheus recebidas em management.server.port, quando diferente de server.port
+    static RequestMatcher prometheusOnManagementPort(Environment environment) {
+        Integer managementPort = environment.getProperty("management.server.port", Integer.class);
+        int serverPort = environment.getProperty("server.port", Integer.class, 8080);
+        if (managementPort == null || managementPort <= 0 || managementPort == serverPort) {
+            return request -> false;
+        }
+        return request -> request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public AccessDeniedHandler accessDeniedHandler() {
-        return (request, response, accessDeniedException) -> {
-            response.setStatus(HttpStatus.FORBIDDEN.value());
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"Acesso negado: Você não tem permissão para realizar esta ação.\"}");
-        };
+        ErrorResponseWriter.Template forbidden = ErrorResponseWriter.template(
+                HttpStatus.FORBIDDEN, "Acesso negado", "Você não tem permissão para realizar esta ação.");
+        return (request, response, accessDeniedException) -> forbidden.send(response, request.getRequestURI());
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
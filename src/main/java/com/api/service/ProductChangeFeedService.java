@@ -0,0 +1,144 @@
+package com.api.service;
+
+import com.api.dto.ProductChangeDTO;
+import com.api.dto.ProductChangesResponse;
+import com.api.dto.ProductDTO;
+import com.api.exception.ChangeCursorExpiredException;
+import com.api.model.Product;
+import com.api.model.ProductTombstone;
+import com.api.repository.ProductRepository;
+import com.api.repository.ProductTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Feed de alterações do catálogo para sincronização incremental: produtos criados ou alterados, em ordem de
+ * (updatedAt, id), e exclusões registradas em product_tombstones. O cursor é a posição da última alteração entregue.
+ * <p>
+ * A ordem segue o instante da escrita, não o do commit: alterações dos últimos app.products.changes.settle-ms
+ * ficam fora do feed para que transações ainda em andamento (e relógios um pouco diferentes entre instâncias
+ * ou réplicas atrasadas) não gerem alterações com posição anterior a um cursor já entregue.
+ */
+@Service
+public class ProductChangeFeedService {
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeFeedService.class);
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private static final Comparator<ProductChangeDTO> FEED_ORDER =
+            Comparator.comparing(ProductChangeDTO::getChangedAt).thenComparingLong(ProductChangeDTO::getId);
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    public ProductChangeFeedService(ProductRepository productRepository, ProductTombstoneRepository tombstoneRepository,
+                                    @Value("${app.products.changes.settle-ms:5000}") long settleMs,
+                                    @Value("${app.products.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.productRepository = productRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settle = Duration.ofMillis(settleMs);
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Alterações depois do cursor {@code since} (nulo ou vazio: desde o início, para a carga inicial).
+     */
+    @Transactional(readOnly = true)
+    public ProductChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+        Instant now = Instant.now();
+        Cursor cursor = since == null || since.isBlank() ? Cursor.START : Cursor.decode(since);
+        if (cursor != Cursor.START && cursor.at().isBefore(now.minus(tombstoneRetention))) {
+            // As exclusões desse intervalo já foram removidas: o consumidor não saberia delas
+            throw new ChangeCursorExpiredException("Cursor anterior a " + tombstoneRetention.toDays()
+                    + " dias; refaça a sincronização completa, sem o parâmetro since.");
+        }
+        Instant until = now.minus(settle).truncatedTo(ChronoUnit.MICROS);
+
+        // limit + 1 de cada tabela basta para saber se há mais depois da página mesclada
+        List<ProductChangeDTO> changes = new ArrayList<>();
+        for (Product product : productRepository.findChangedSince(cursor.at(), cursor.id(), until, Limit.of(limit + 1))) {
+            changes.add(new ProductChangeDTO(ProductChangeDTO.Type.UPSERT, product.getId(), new ProductDTO(product),
+                    product.getUpdatedAt()));
+        }
+        for (ProductTombstone tombstone : tombstoneRepository.findDeletedSince(cursor.at(), cursor.id(), until,
+                Limit.of(limit + 1))) {
+            changes.add(new ProductChangeDTO(ProductChangeDTO.Type.DELETE, tombstone.getProductId(), null,
+                    tombstone.getDeletedAt()));
+        }
+        changes.sort(FEED_ORDER);
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            List<ProductChangeDTO> page = List.copyOf(changes.subList(0, limit));
+            ProductChangeDTO last = page.get(page.size() - 1);
+            return new ProductChangesResponse(page, new Cursor(last.getChangedAt(), last.getId()).encode(), true);
+        }
+        // Tudo até o limite de estabilização foi entregue: o cursor avança até ele, mesmo sem alterações,
+        // para não expirar enquanto o catálogo fica parado
+        Cursor next = until.isAfter(cursor.at()) ? new Cursor(until, Long.MAX_VALUE) : cursor;
+        return new ProductChangesResponse(changes, next.encode(), false);
+    }
+
+    /**
+     * Registra a exclusão para o feed, na transação que remove o produto.
+     */
+    public void productDeleted(Product product) {
+        Long sellerId = product.getCreatedBy() != null ? product.getCreatedBy().getId() : null;
+        tombstoneRepository.save(new ProductTombstone(product.getId(), sellerId,
+                Instant.now().truncatedTo(ChronoUnit.MICROS)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.changes.purge-interval-ms:3600000}", initialDelay = 60000)
+    @Transactional
+    public void purgeTombstones() {
+        int removed = tombstoneRepository.deleteDeletedBefore(Instant.now().minus(tombstoneRetention));
+        if (removed > 0) {
+            log.debug("{} registros de exclusão de produtos removidos", removed);
+        }
+    }
+
+    /**
+     * Posição no feed. Codificado em Base64 (URL) para que o consumidor o trate como opaco.
+     */
+    record Cursor(Instant at, long id) {
+
+        static final Cursor START = new Cursor(Instant.EPOCH, 0);
+
+        String encode() {
+            String raw = ChronoUnit.MICROS.between(Instant.EPOCH, at) + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                long micros = Long.parseLong(raw.substring(0, separator));
+                long id = Long.parseLong(raw.substring(separator + 1));
+                return new Cursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido: use o nextCursor da resposta anterior.");
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exportação completa do catálogo (CSV ou NDJSON) escrita direto no OutputStream da resposta, sem carregar
+ * Product nem ProductDTO. No PostgreSQL as linhas já saem formatadas do {@code COPY ... TO STDOUT} e são
+ * repassadas em blocos; nos demais bancos (H2 dos testes) o ResultSet é lido com fetch size e formatado aqui,
+ * com a mesma saída. Em ambos os casos o heap usado não depende da quantidade de produtos.
+ */
+@Service
+public class ProductExportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+
+    // Mesmas colunas e nomes do ProductDTO
+    private static final String SELECT_PRODUCTS = "SELECT p.id, p.sku, p.name, p.description, p.price, p.quantity, "
+            + "u.username AS \"createdBy\" FROM products p LEFT JOIN users u ON u.id = p.created_by ORDER BY p.id";
+
+    private static final String CSV_HEADER = "id,sku,name,description,price,quantity,createdBy\n";
+
+    private static final String COPY_CSV = "COPY (" + SELECT_PRODUCTS + ") TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    // O formato csv não escapa barras invertidas (o text escaparia as do JSON); com aspas e delimitador em
+    // caracteres de controle, que o row_to_json sempre escapa, cada linha sai exatamente como o JSON gerado
+    private static final String COPY_NDJSON = "COPY (SELECT row_to_json(t) FROM (" + SELECT_PRODUCTS + ") t) "
+            + "TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return name().toLowerCase();
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportação inválido: use csv ou ndjson.");
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportService(EntityManager entityManager, ObjectMapper objectMapper,
+                                @Value("${app.products.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escreve todos os produtos, em ordem de ID, em {@code out}. Retorna a quantidade de produtos exportados.
+     * Roda numa transação somente leitura (réplica, quando configurada), aberta durante toda a escrita.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) {
+        long started = System.nanoTime();
+        long rows = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    return copyOut(connection.unwrap(PGConnection.class), format, out);
+                }
+                return format == Format.CSV ? writeCsv(connection, out) : writeNdjson(connection, out);
+            } catch (IOException e) {
+                // Normalmente o cliente fechou a conexão; o COPY em andamento é cancelado pelo driver
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exportação {}: {} produtos em {} ms", format.getExtension(), rows,
+                (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long copyOut(PGConnection connection, Format format, OutputStream out) throws SQLException, IOException {
+        return connection.getCopyAPI().copyOut(format == Format.CSV ? COPY_CSV : COPY_NDJSON, out);
+    }
+
+    private long writeCsv(Connection connection, OutputStream out) throws SQLException, IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        try (PreparedStatement statement = prepare(connection); ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.write(Long.toString(rs.getLong(1)));
+                writer.write(',');
+                writeCsvValue(writer, rs.getString(2));
+                writer.write(',');
+                writeCsvValue(writer, rs.getString(3));
+                writer.write(',');
+                writeCsvValue(writer, rs.getString(4));
+                writer.write(',');
+                writer.write(rs.getBigDecimal(5).toPlainString());
+                writer.write(',');
+                writer.write(Integer.toString(rs.getInt(6)));
+                writer.write(',');
+                writeCsvValue(writer, rs.getString(7));
+                writer.write('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Connection connection, OutputStream out) throws SQLException, IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+             PreparedStatement statement = prepare(connection); ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                generator.writeStringField("sku", rs.getString(2));
+                generator.writeStringField("name", rs.getString(3));
+                generator.writeStringField("description", rs.getString(4));
+                generator.writeNumberField("price", rs.getBigDecimal(5));
+                generator.writeNumberField("quantity", rs.getInt(6));
+                generator.writeStringField("createdBy", rs.getString(7));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private PreparedStatement prepare(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(SELECT_PRODUCTS,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        return statement;
+    }
+
+    // Mesmas regras do COPY ... (FORMAT csv): nulo vazio, aspas só quando necessário e "" para string vazia
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.isEmpty() || value.equals("\\.");
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
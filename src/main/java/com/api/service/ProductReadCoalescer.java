@@ -0,0 +1,66 @@
+package com.api.service;
+
+import com.api.dto.ProductDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight das leituras mais disputadas do catálogo: busca por ID e primeira página da listagem.
+ * O carregamento roda numa transação somente leitura própria, aberta apenas por quem lidera a chamada,
+ * para que as requisições em espera não segurem conexões do pool.
+ */
+@Component
+public class ProductReadCoalescer {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, ProductDTO> byId;
+    private final SingleFlight<FirstPageKey, Page<ProductDTO>> firstPage;
+
+    public ProductReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${app.single-flight.max-wait-ms:500}") long maxWaitMs) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Duration maxWait = Duration.ofMillis(maxWaitMs);
+        this.byId = new SingleFlight<>(maxWait, listener(meterRegistry, "by-id"));
+        this.firstPage = new SingleFlight<>(maxWait, listener(meterRegistry, "first-page"));
+    }
+
+    public ProductDTO productById(Long id, Supplier<ProductDTO> loader) {
+        return byId.execute(id, () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    public Page<ProductDTO> firstPage(int size, String sortBy, String direction, Supplier<Page<ProductDTO>> loader) {
+        return firstPage.execute(new FirstPageKey(size, sortBy, direction),
+                () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    /**
+     * Leitura sem agrupamento, na mesma transação somente leitura (páginas seguintes da listagem).
+     */
+    public <T> T read(Supplier<T> loader) {
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    private static SingleFlight.OutcomeListener listener(MeterRegistry meterRegistry, String operation) {
+        Counter coalesced = Counter.builder("products.reads.coalesced")
+                .description("Leituras atendidas por um carregamento já em andamento")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Counter timedOut = Counter.builder("products.reads.coalesced.timeouts")
+                .description("Leituras que desistiram de esperar o carregamento em andamento")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return outcome -> (outcome == SingleFlight.Outcome.COALESCED ? coalesced : timedOut).increment();
+    }
+
+    private record FirstPageKey(int size, String sortBy, String direction) {
+    }
+}
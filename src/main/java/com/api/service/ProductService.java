@@ -1,29 +1,72 @@
 package com.api.service;
 
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.dto.ProductBatchResponse;
 import com.api.dto.ProductDTO;
+import com.api.events.ProductEventOutbox;
 import com.api.enums.Role;
 import com.api.exception.ProductNotFoundException;
+import com.api.exception.ProductOwnershipException;
+import com.api.exception.ProductSkuAlreadyExistsException;
+import com.api.exception.UserNotAllowedException;
+import com.api.exception.UserNotFoundException;
 import com.api.model.Product;
+import com.api.model.ProductOutboxEntry;
 import com.api.model.User;
 import com.api.repository.ProductRepository;
 import com.api.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Observed(name = "api.service")
 @Service
 public class ProductService {
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
+    // Limite de IDs por chamada do endpoint de busca em lote
+    public static final int MAX_BATCH_IDS = 100;
+
+    // Tamanho máximo das páginas de produtos por criador
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<Role> PRODUCT_CREATOR_ROLES = EnumSet.of(Role.SELLER, Role.ADMIN);
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
-
-    public ProductService(ProductRepository productRepository, UserRepository userRepository) {
+    private final ProductReadCoalescer readCoalescer;
+    private final SellerStatsService sellerStatsService;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final ProductEventOutbox productEventOutbox;
+    private final ProductChangeFeedService changeFeedService;
+
+    public ProductService(ProductRepository productRepository, UserRepository userRepository,
+                          ProductReadCoalescer readCoalescer, SellerStatsService sellerStatsService,
+                          CacheInvalidationPublisher cacheInvalidationPublisher,
+                          ProductEventOutbox productEventOutbox, ProductChangeFeedService changeFeedService) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.readCoalescer = readCoalescer;
+        this.sellerStatsService = sellerStatsService;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.productEventOutbox = productEventOutbox;
+        this.changeFeedService = changeFeedService;
     }
 
     // Métodos Públicos (Acesso Livre)
@@ -40,38 +83,81 @@ public class ProductService {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        return productRepository.findAll(pageable).map(ProductDTO::new);
+        // A primeira página é a mais acessada: requisições simultâneas compartilham a mesma consulta
+        if (page == 0) {
+            return readCoalescer.firstPage(size, sortBy, direction.name(), () -> findPage(pageable));
+        }
+        return readCoalescer.read(() -> findPage(pageable));
     }
 
     /**
      * Retorna um produto pelo ID (acessível por qualquer usuário).
+     * Buscas simultâneas pelo mesmo ID compartilham a mesma consulta.
      */
     public ProductDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado."));
-        return new ProductDTO(product);
+        return readCoalescer.productById(id, () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado."));
+            return new ProductDTO(product);
+        });
+    }
+
+    private Page<ProductDTO> findPage(Pageable pageable) {
+        return productRepository.findAll(pageable).map(ProductDTO::new);
     }
 
     /**
-     * Retorna a lista de produtos cadastrados por um seller ou admin específico.
+     * Retorna vários produtos de uma vez, na ordem dos IDs informados (IDs repetidos são considerados uma vez).
+     * Os produtos já em cache não vão ao banco; os demais são buscados com um único IN por bloco de IDs.
      */
-    public List<ProductDTO> getProductsByUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        // ids=1,,2 chega com um null na lista
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs de produtos não podem ser vazios.");
+        }
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Informe entre 1 e " + MAX_BATCH_IDS + " IDs de produtos.");
+        }
 
-        // Retorna apenas produtos criados pelo usuário se ele for SELLER ou ADMIN
-        if (user.getRole() != Role.SELLER && user.getRole() != Role.ADMIN) {
-            throw new RuntimeException("Este usuário não pode cadastrar produtos.");
+        List<Product> products = productRepository.findAllByIdInOrder(distinctIds);
+        List<ProductDTO> found = new ArrayList<>(products.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            Product product = products.get(i);
+            if (product != null) {
+                found.add(new ProductDTO(product));
+            } else {
+                missingIds.add(distinctIds.get(i));
+            }
         }
+        return new ProductBatchResponse(found, missingIds);
+    }
 
-        return productRepository.findByCreatedBy(user).stream()
-                .map(ProductDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Retorna uma página dos produtos cadastrados por um seller ou admin específico, em ordem de ID,
+     * a partir do produto seguinte a {@code afterId}.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsByUser(Long userId, long afterId, int size) {
+        // O papel do criador já é filtrado na consulta; o usuário só é buscado para explicar uma página vazia
+        List<Product> products = productRepository.findPageByCreator(userId, PRODUCT_CREATOR_ROLES, afterId,
+                Limit.of(checkPageSize(size)));
+        if (products.isEmpty()) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+            if (!PRODUCT_CREATOR_ROLES.contains(user.getRole())) {
+                throw new UserNotAllowedException("Este usuário não pode cadastrar produtos.");
+            }
+        }
+        return toDtos(products);
     }
 
     /**
      * Retorna a lista de produtos ordenados por preço (ascendente ou descendente).
      */
+    @Transactional(readOnly = true)
     public List<ProductDTO> getProductsSorted(String sort) {
         if (!sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
             throw new IllegalArgumentException("O parâmetro de ordenação deve ser 'asc' ou 'desc'.");
@@ -86,15 +172,17 @@ public class ProductService {
     /**
      * Cria um novo produto associado ao usuário autenticado (apenas SELLERs e ADMINs podem criar produtos).
      */
+    @Transactional
     public ProductDTO createProduct(ProductDTO productDTO, String username) {
         User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
 
         if (!(user.getRole().equals(Role.SELLER) || user.getRole().equals(Role.ADMIN))) {
-            throw new RuntimeException("Apenas SELLERS e ADMINS podem cadastrar produtos.");
+            throw new UserNotAllowedException("Apenas SELLERS e ADMINS podem cadastrar produtos.");
         }
 
         Product product = new Product();
+        product.setSku(checkSkuAvailable(user.getId(), productDTO.getSku()));
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
@@ -102,39 +190,57 @@ public class ProductService {
         product.setCreatedBy(user);
 
         Product savedProduct = productRepository.save(product);
+        sellerStatsService.productAdded(user.getId(), product.getPrice(), product.getQuantity());
+        productEventOutbox.record(ProductOutboxEntry.Type.CREATED, savedProduct);
         return new ProductDTO(savedProduct);
     }
 
 
     /**
-     * Retorna todos os produtos cadastrados pelo próprio usuário autenticado (SELLER ou ADMIN).
+     * Retorna uma página dos produtos cadastrados pelo próprio usuário autenticado (SELLER ou ADMIN),
+     * em ordem de ID, a partir do produto seguinte a {@code afterId}.
+     * Continua no primário para que o seller veja imediatamente o que acabou de cadastrar.
      */
-    public List<ProductDTO> getMyProducts(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        return productRepository.findByCreatedBy(user).stream()
-                .map(ProductDTO::new)
-                .collect(Collectors.toList());
+    @Transactional
+    public List<ProductDTO> getMyProducts(String username, long afterId, int size) {
+        List<Product> products = productRepository.findPageByCreatorUsername(username, afterId,
+                Limit.of(checkPageSize(size)));
+        if (products.isEmpty() && userRepository.findByUsername(username).isEmpty()) {
+            throw new UserNotFoundException("Usuário não encontrado");
+        }
+        return toDtos(products);
     }
 
     /**
      * Atualiza os dados de um produto pelo ID (apenas o criador pode modificar)
      */
+    @Transactional
     public ProductDTO updateProduct(Long id, ProductDTO productDTO, String username) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado."));
 
         // Verifica se o usuário autenticado é o criador do produto
         if (!product.getCreatedBy().getUsername().equals(username)) {
-            throw new RuntimeException("Você não tem permissão para modificar este produto.");
+            throw new ProductOwnershipException("Você não tem permissão para modificar este produto.");
         }
 
+        BigDecimal oldPrice = product.getPrice();
+        int oldQuantity = product.getQuantity();
+
+        // SKU ausente no corpo mantém o atual
+        if (productDTO.getSku() != null && !productDTO.getSku().equals(product.getSku())) {
+            product.setSku(checkSkuAvailable(product.getCreatedBy().getId(), productDTO.getSku()));
+        }
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
         product.setQuantity(productDTO.getQuantity());
 
         Product updatedProduct = productRepository.save(product);
+        sellerStatsService.productChanged(product.getCreatedBy().getId(), oldPrice, oldQuantity,
+                product.getPrice(), product.getQuantity());
+        cacheInvalidationPublisher.productChanged(id);
+        productEventOutbox.record(ProductOutboxEntry.Type.UPDATED, updatedProduct);
         return new ProductDTO(updatedProduct);
     }
 
@@ -142,35 +248,68 @@ public class ProductService {
     /**
      * Atualiza o estoque de um produto pelo ID (apenas o criador pode modificar)
      */
+    @Transactional
     public ProductDTO updateProductStock(Long id, int quantity, String username) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado."));
 
-        System.out.println("Produto encontrado " + product);
+        log.debug("Atualizando estoque do produto {} em {} unidades", id, quantity);
 
         // Verifica se o usuário autenticado é o criador do produto
         if (!product.getCreatedBy().getUsername().equals(username)) {
-            throw new RuntimeException("Você não tem permissão para modificar o estoque deste produto.");
+            throw new ProductOwnershipException("Você não tem permissão para modificar o estoque deste produto.");
         }
 
 
-        product.setQuantity(product.getQuantity() + quantity);
+        int oldQuantity = product.getQuantity();
+        product.setQuantity(oldQuantity + quantity);
         Product updatedProduct = productRepository.save(product);
+        sellerStatsService.productChanged(product.getCreatedBy().getId(), product.getPrice(), oldQuantity,
+                product.getPrice(), product.getQuantity());
+        cacheInvalidationPublisher.productChanged(id);
+        productEventOutbox.record(ProductOutboxEntry.Type.STOCK_CHANGED, updatedProduct);
 
         return new ProductDTO(updatedProduct);
     }
 
     // Remove um produto do banco de dados (apenas o criador ou um ADMIN pode excluir)
+    @Transactional
     public void deleteProduct(Long id, String username) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Produto com ID " + id + " não encontrado."));
 
         // Permite apenas o criador OU um ADMIN excluir o produto
         if (!product.getCreatedBy().getUsername().equals(username) && !isAdmin(username)) {
-            throw new RuntimeException("Você não tem permissão para excluir este produto.");
+            throw new ProductOwnershipException("Você não tem permissão para excluir este produto.");
         }
 
         productRepository.deleteById(id);
+        sellerStatsService.productRemoved(product.getCreatedBy().getId(), product.getPrice(), product.getQuantity());
+        cacheInvalidationPublisher.productChanged(id);
+        productEventOutbox.record(ProductOutboxEntry.Type.DELETED, product);
+        changeFeedService.productDeleted(product);
+    }
+
+    // SKU em branco remove o código do produto
+    private String checkSkuAvailable(Long sellerId, String sku) {
+        sku = sku == null || sku.isBlank() ? null : sku.strip();
+        if (sku != null && productRepository.existsByCreatedByIdAndSku(sellerId, sku)) {
+            throw new ProductSkuAlreadyExistsException("Já existe um produto com o SKU " + sku + ".");
+        }
+        return sku;
+    }
+
+    private static int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+
+    private static List<ProductDTO> toDtos(List<Product> products) {
+        return products.stream()
+                .map(ProductDTO::new)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,132 @@
+package com.api.service;
+
+import com.api.dto.SellerProductStatsDTO;
+import com.api.exception.UserNotFoundException;
+import com.api.model.SellerProductStats;
+import com.api.model.User;
+import com.api.repository.SellerProductStatsRepository;
+import com.api.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Mantém o resumo de produtos por seller (quantidade, estoque, valor e faixa de preço).
+ * Cada escrita em produtos aplica a sua variação com um UPDATE atômico, na mesma transação da escrita;
+ * sellers sem resumo ainda são preenchidos a partir da tabela de produtos na primeira escrita.
+ */
+@Service
+public class SellerStatsService {
+
+    private final SellerProductStatsRepository statsRepository;
+    private final UserRepository userRepository;
+
+    public SellerStatsService(SellerProductStatsRepository statsRepository, UserRepository userRepository) {
+        this.statsRepository = statsRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Resumo dos produtos do usuário autenticado.
+     */
+    @Transactional(readOnly = true)
+    public SellerProductStatsDTO getSummary(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
+        return getStats(user.getId());
+    }
+
+    /**
+     * Resumo dos produtos de um usuário pelo ID.
+     */
+    @Transactional(readOnly = true)
+    public SellerProductStatsDTO getStatsByUserId(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Usuário não encontrado com ID: " + userId);
+        }
+        return getStats(userId);
+    }
+
+    private SellerProductStatsDTO getStats(Long sellerId) {
+        // Sem resumo gravado (nenhuma escrita desde a criação da tabela), calcula direto dos produtos
+        SellerProductStats stats = statsRepository.findById(sellerId)
+                .orElseGet(() -> statsRepository.aggregate(sellerId));
+        return new SellerProductStatsDTO(sellerId, stats);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productAdded(Long sellerId, BigDecimal price, int quantity) {
+        if (statsRepository.applyDeltaWithPrice(sellerId, 1, quantity, stockValue(price, quantity), price) == 0) {
+            backfill(sellerId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productChanged(Long sellerId, BigDecimal oldPrice, int oldQuantity,
+                               BigDecimal newPrice, int newQuantity) {
+        BigDecimal value = stockValue(newPrice, newQuantity).subtract(stockValue(oldPrice, oldQuantity));
+        boolean priceChanged = oldPrice.compareTo(newPrice) != 0;
+        int updated = priceChanged
+                ? statsRepository.applyDeltaWithPrice(sellerId, 0, newQuantity - oldQuantity, value, newPrice)
+                : statsRepository.applyDelta(sellerId, 0, newQuantity - oldQuantity, value);
+        if (updated == 0) {
+            backfill(sellerId);
+        } else if (priceChanged) {
+            statsRepository.refreshPriceRangeIfBoundary(sellerId, oldPrice);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productRemoved(Long sellerId, BigDecimal price, int quantity) {
+        if (statsRepository.applyDelta(sellerId, -1, -quantity, stockValue(price, quantity).negate()) == 0) {
+            backfill(sellerId);
+        } else {
+            statsRepository.refreshPriceRangeIfBoundary(sellerId, price);
+        }
+    }
+
+    /**
+     * Recalcula o resumo a partir dos produtos, depois de escritas em massa que não aplicam variações
+     * (importação de CSV). A trava na linha do resumo espera as escritas em andamento que já aplicaram a sua
+     * variação, e a agregação, feita depois dela, já as enxerga; as escritas seguintes aplicam a variação
+     * sobre o valor recalculado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recalculate(Long sellerId) {
+        statsRepository.findByIdForUpdate(sellerId).ifPresentOrElse(
+                existing -> copy(statsRepository.aggregate(sellerId), existing),
+                () -> backfill(sellerId));
+    }
+
+    /**
+     * Cria o resumo a partir dos produtos já gravados (incluindo a escrita atual, já enviada ao banco).
+     * A trava na linha do usuário impede que duas escritas simultâneas criem o mesmo resumo.
+     */
+    private void backfill(Long sellerId) {
+        userRepository.findByIdForUpdate(sellerId);
+        if (statsRepository.existsById(sellerId)) {
+            // Outra transação criou o resumo enquanto esperávamos a trava; ele já não inclui esta escrita,
+            // então recalcula por completo
+            SellerProductStats existing = statsRepository.getReferenceById(sellerId);
+            copy(statsRepository.aggregate(sellerId), existing);
+            return;
+        }
+        SellerProductStats stats = statsRepository.aggregate(sellerId);
+        stats.setSellerId(sellerId);
+        statsRepository.save(stats);
+    }
+
+    private static void copy(SellerProductStats source, SellerProductStats target) {
+        target.setProductCount(source.getProductCount());
+        target.setTotalQuantity(source.getTotalQuantity());
+        target.setTotalStockValue(source.getTotalStockValue());
+        target.setMinPrice(source.getMinPrice());
+        target.setMaxPrice(source.getMaxPrice());
+    }
+
+    private static BigDecimal stockValue(BigDecimal price, int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
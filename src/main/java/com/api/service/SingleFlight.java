@@ -0,0 +1,78 @@
+package com.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes com a mesma chave: a primeira executa o carregamento e as demais aguardam
+ * o mesmo {@link CompletableFuture}. Quem espera mais que {@code maxWait} desiste e carrega por conta própria.
+ * Nada é guardado depois que o carregamento termina; o cache continua sendo responsabilidade do Hibernate.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Como terminou uma chamada que encontrou um carregamento em andamento.
+     */
+    public enum Outcome { COALESCED, TIMED_OUT }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final OutcomeListener listener;
+
+    public SingleFlight(Duration maxWait, OutcomeListener listener) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.listener = listener;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing == null) {
+            return load(key, call, loader);
+        }
+        try {
+            V value = existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            listener.onOutcome(Outcome.COALESCED);
+            return value;
+        } catch (TimeoutException e) {
+            listener.onOutcome(Outcome.TIMED_OUT);
+            return loader.get();
+        } catch (ExecutionException e) {
+            listener.onOutcome(Outcome.COALESCED);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando carregamento em andamento.", e);
+        }
+    }
+
+    private V load(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @FunctionalInterface
+    public interface OutcomeListener {
+        void onOutcome(Outcome outcome);
+    }
+}
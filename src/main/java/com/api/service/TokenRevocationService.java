@@ -0,0 +1,186 @@
+package com.api.service;
+
+import com.api.model.RevokedToken;
+import com.api.repository.RevokedTokenRepository;
+import com.api.security.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de JWT revogados consultada pelo JwtAuthenticationFilter antes de qualquer acesso ao banco.
+ * As revogações são gravadas em revoked_tokens e copiadas para mapas em memória; cada instância lê
+ * periodicamente as gravadas pelas outras. Entradas saem da memória e do banco quando os tokens afetados expiram.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration syncOverlap;
+    private final Duration maxTokenValidity;
+    private final Counter rejected;
+
+    // jti -> expiração do token
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // username -> tokens emitidos antes de revokedAt são inválidos
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    // Maior revoked_at já lido; a próxima leitura recua syncOverlap para cobrir relógios e commits atrasados
+    private volatile Instant watermark;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtProperties jwtProperties,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.revocation.sync-overlap-ms:60000}") long syncOverlapMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMs);
+        // Uma revogação por username precisa durar até o último token afetado expirar
+        this.maxTokenValidity = jwtProperties.getAccessTokenValidity().compareTo(jwtProperties.getRefreshTokenValidity()) > 0
+                ? jwtProperties.getAccessTokenValidity() : jwtProperties.getRefreshTokenValidity();
+        this.rejected = Counter.builder("security.jwt.revoked")
+                .description("Requisições com JWT revogado, recusadas antes de consultar o usuário")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.revocations", revokedTokens, Map::size)
+                .description("Revogações em memória")
+                .tag("kind", "token")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.revocations", revokedUsers, Map::size)
+                .description("Revogações em memória")
+                .tag("kind", "user")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consulta somente a memória: O(1) por token.
+     */
+    public boolean isRevoked(String jti, String username, Date issuedAt) {
+        boolean revoked = (jti != null && revokedTokens.containsKey(jti))
+                || isRevokedForUser(username, issuedAt);
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revoga um único token até a sua expiração (logout, refresh token já usado). Tokens sem jti, emitidos
+     * antes dele existir, são ignorados.
+     *
+     * @return false se o jti já estava revogado no banco, por esta ou por outra instância. A chave única de
+     * revoked_tokens decide entre requisições simultâneas: só uma delas grava a revogação
+     */
+    public boolean revokeToken(String jti, Date expiration) {
+        if (jti == null || expiration == null) {
+            return false;
+        }
+        RevokedToken revocation = new RevokedToken(RevokedToken.Kind.TOKEN, jti, Instant.now(), expiration.toInstant());
+        try {
+            if (revokedTokenRepository.insertTokenIfAbsent(jti, revocation.getRevokedAt(), revocation.getExpiresAt()) == 0) {
+                return false;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição gravou o mesmo jti ao mesmo tempo
+            return false;
+        }
+        applyAfterCommit(revocation);
+        return true;
+    }
+
+    /**
+     * Revoga todos os tokens já emitidos para o username (exclusão da conta ou troca de username).
+     */
+    public void revokeUserTokens(String username) {
+        Instant now = Instant.now();
+        save(new RevokedToken(RevokedToken.Kind.USER, username, now, now.plus(maxTokenValidity)));
+    }
+
+    /**
+     * Lê as revogações gravadas por todas as instâncias desde a última leitura. A primeira execução carrega
+     * todas as que ainda estão em vigor.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval-ms:2000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = watermark == null ? Instant.EPOCH : watermark.minus(syncOverlap);
+        List<RevokedToken> revocations;
+        try {
+            revocations = revokedTokenRepository.findActiveSince(since, now);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao sincronizar revogações de token: {}", e.getMessage());
+            return;
+        }
+        Instant latest = watermark == null ? now : watermark;
+        for (RevokedToken revocation : revocations) {
+            apply(revocation);
+            if (revocation.getRevokedAt().isAfter(latest)) {
+                latest = revocation.getRevokedAt();
+            }
+        }
+        watermark = latest;
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedUsers.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval-ms:600000}", initialDelay = 60000)
+    @Transactional
+    public void purgeExpired() {
+        int removed = revokedTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.debug("{} revogações de token expiradas removidas", removed);
+        }
+    }
+
+    private boolean isRevokedForUser(String username, Date issuedAt) {
+        UserRevocation revocation = revokedUsers.get(username);
+        // O iat tem precisão de segundos: um token emitido antes da revogação sempre fica antes dela
+        return revocation != null && (issuedAt == null || issuedAt.toInstant().isBefore(revocation.revokedAt()));
+    }
+
+    private void save(RevokedToken revocation) {
+        revokedTokenRepository.save(revocation);
+        applyAfterCommit(revocation);
+    }
+
+    // Em uma transação, a revogação só vale na memória depois do commit
+    private void applyAfterCommit(RevokedToken revocation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(revocation);
+                }
+            });
+        } else {
+            apply(revocation);
+        }
+    }
+
+    private void apply(RevokedToken revocation) {
+        switch (revocation.getKind()) {
+            case TOKEN -> revokedTokens.put(revocation.getKey(), revocation.getExpiresAt());
+            case USER -> revokedUsers.merge(revocation.getKey(),
+                    new UserRevocation(revocation.getRevokedAt(), revocation.getExpiresAt()),
+                    (current, added) -> added.revokedAt().isAfter(current.revokedAt()) ? added : current);
+        }
+    }
+
+    private record UserRevocation(Instant revokedAt, Instant expiresAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.api.service;
 
+import com.api.cache.CacheInvalidationPublisher;
 import com.api.dto.AuthRequest;
 import com.api.dto.UserDTO;
 import com.api.enums.Role;
@@ -7,22 +8,31 @@ import com.api.exception.UserAlreadyExistsException;
 import com.api.exception.UserNotFoundException;
 import com.api.model.User;
 import com.api.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Observed(name = "api.service")
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CacheInvalidationPublisher cacheInvalidationPublisher,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     // Métodos de VISITANTE (Sem autenticação)
@@ -50,6 +60,7 @@ public class UserService {
 
 
     // Atualiza os dados do próprio usuário autenticado
+    @Transactional
     public void updateUser(String username, AuthRequest request) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado: " + username));
@@ -61,7 +72,10 @@ public class UserService {
             throw new UserAlreadyExistsException("Nome de usuário já está em uso: " + request.getUsername());
         }
 
-        if (request.getUsername() != null && !request.getUsername().isEmpty()) {
+        if (request.getUsername() != null && !request.getUsername().isEmpty()
+                && !request.getUsername().equals(user.getUsername())) {
+            // Tokens emitidos para o username antigo deixam de valer
+            tokenRevocationService.revokeUserTokens(user.getUsername());
             user.setUsername(request.getUsername());
         }
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
@@ -69,9 +83,11 @@ public class UserService {
         }
 
         userRepository.save(user);
+        cacheInvalidationPublisher.userChanged(user.getId());
     }
 
     // Exclui a própria conta do usuário autenticado
+    @Transactional
     public void deleteUserByUsername(String username, User authenticatedUser) {
         if (!authenticatedUser.getUsername().equals(username)) {
             throw new AccessDeniedException("Usuário só pode excluir a própria conta.");
@@ -81,6 +97,8 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado: " + username));
 
         userRepository.delete(user);
+        tokenRevocationService.revokeUserTokens(user.getUsername());
+        cacheInvalidationPublisher.userChanged(user.getId());
     }
 
     // Métodos restritos ao ADMIN
@@ -106,13 +124,15 @@ public class UserService {
     }
 
     // Deleta qualquer usuário por ID (Apenas ADMIN)
+    @Transactional
     public void deleteUserById(Long id, User authenticatedUser) {
         if (authenticatedUser.getRole() != Role.ADMIN) {
             throw new AccessDeniedException("Apenas administradores podem excluir usuários.");
         }
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException("Usuário não encontrado com ID: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
+        userRepository.delete(user);
+        tokenRevocationService.revokeUserTokens(user.getUsername());
+        cacheInvalidationPublisher.userChanged(id);
     }
 }
@@ -0,0 +1,28 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto: update.
+-- IF NOT EXISTS permite aplicar esta versão também em bancos criados pelo Hibernate (baseline-version 0).
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) CHECK (role IN ('ADMIN', 'SELLER', 'CUSTOMER'))
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255)   NOT NULL,
+    description VARCHAR(500)   NOT NULL,
+    price       NUMERIC(38, 2) NOT NULL,
+    quantity    INTEGER        NOT NULL,
+    created_by  BIGINT REFERENCES users (id)
+);
+
+-- Sem chave estrangeira para users (ver SellerProductStats)
+CREATE TABLE IF NOT EXISTS seller_product_stats (
+    seller_id         BIGINT PRIMARY KEY,
+    product_count     BIGINT         NOT NULL,
+    total_quantity    BIGINT         NOT NULL,
+    total_stock_value NUMERIC(38, 2) NOT NULL,
+    min_price         NUMERIC(38, 2),
+    max_price         NUMERIC(38, 2)
+);
@@ -0,0 +1,13 @@
+-- Índices para as consultas de ProductRepository e SellerProductStatsRepository.
+-- CONCURRENTLY não bloqueia escritas em produtos durante a criação, mas não pode rodar dentro de transação
+-- (ver V2__product_indexes.sql.conf). IF NOT EXISTS torna a migração reexecutável caso uma criação seja interrompida
+-- (nesse caso, remova antes o índice inválido que ficou para trás).
+
+-- Listagens por criador em ordem de ID (keyset), resumo por seller e chave estrangeira created_by
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_created_by_id ON products (created_by, id);
+
+-- Listagem paginada ordenada por nome (ordenação padrão de GET /products)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name ON products (name);
+
+-- Listagem paginada e GET /products/sorted ordenados por preço
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_price ON products (price);
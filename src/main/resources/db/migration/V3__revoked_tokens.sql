@@ -0,0 +1,13 @@
+-- Revogações de JWT (logout e exclusão de contas), lidas incrementalmente por revoked_at em cada instância
+-- e removidas depois de expires_at.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    kind       VARCHAR(16)  NOT NULL CHECK (kind IN ('TOKEN', 'USER')),
+    token_key  VARCHAR(255) NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
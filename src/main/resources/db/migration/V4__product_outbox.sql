@@ -0,0 +1,20 @@
+-- Outbox dos eventos de produtos: gravado na mesma transação da escrita e entregue aos assinantes
+-- em segundo plano pelo ProductEventRelay. O índice parcial cobre apenas os eventos ainda não entregues.
+
+CREATE TABLE IF NOT EXISTS product_outbox (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type   VARCHAR(32)   NOT NULL CHECK (event_type IN ('CREATED', 'UPDATED', 'STOCK_CHANGED', 'DELETED')),
+    product_id   BIGINT        NOT NULL,
+    seller_id    BIGINT,
+    payload      VARCHAR(2000) NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    available_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    attempts     INTEGER       NOT NULL DEFAULT 0,
+    last_error   VARCHAR(500),
+    published_at TIMESTAMP(6) WITH TIME ZONE,
+    failed_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_outbox_pending ON product_outbox (id)
+    WHERE published_at IS NULL AND failed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_product_outbox_published_at ON product_outbox (published_at);
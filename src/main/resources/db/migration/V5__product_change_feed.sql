@@ -0,0 +1,17 @@
+-- Feed de alterações de produtos (GET /products/changes): produtos ordenados por (updated_at, id) e
+-- exclusões registradas em product_tombstones. Sem transação, como a V2 (ver V5__product_change_feed.sql.conf).
+
+-- Default estável: o PostgreSQL não reescreve a tabela, e os produtos existentes entram no feed com o instante
+-- da migração
+ALTER TABLE products ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_updated_at_id ON products (updated_at, id);
+
+-- Sem chave estrangeira: o produto já não existe
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    product_id BIGINT PRIMARY KEY,
+    seller_id  BIGINT,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at_id ON product_tombstones (deleted_at, product_id);
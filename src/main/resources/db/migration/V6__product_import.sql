@@ -0,0 +1,45 @@
+-- Importação de produtos em CSV (POST /products/import): SKU do seller, jobs com erros por linha e a tabela
+-- de staging carregada com COPY. Sem transação, como a V2 e a V5 (ver V6__product_import.sql.conf).
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS sku VARCHAR(100);
+
+-- Chave do INSERT ... ON CONFLICT da importação; produtos sem SKU (NULL) não conflitam entre si
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_products_created_by_sku ON products (created_by, sku);
+
+CREATE TABLE IF NOT EXISTS product_import_jobs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    seller_id      BIGINT      NOT NULL,
+    status         VARCHAR(16) NOT NULL CHECK (status IN ('RECEIVING', 'QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    total_rows     BIGINT      NOT NULL DEFAULT 0,
+    invalid_rows   BIGINT      NOT NULL DEFAULT 0,
+    processed_rows BIGINT      NOT NULL DEFAULT 0,
+    inserted_rows  BIGINT      NOT NULL DEFAULT 0,
+    updated_rows   BIGINT      NOT NULL DEFAULT 0,
+    message        VARCHAR(500),
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Sem chave estrangeira, como product_tombstones: os erros são removidos junto com o job
+CREATE TABLE IF NOT EXISTS product_import_errors (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id      BIGINT       NOT NULL,
+    line_number BIGINT       NOT NULL,
+    message     VARCHAR(500) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_import_errors_job_line ON product_import_errors (job_id, line_number);
+
+-- Staging das linhas válidas de cada job, removidas quando ele termina. UNLOGGED: sem WAL (a carga não passa
+-- pelas réplicas) e esvaziada pelo PostgreSQL depois de uma queda, quando os jobs em andamento já se perderam
+CREATE UNLOGGED TABLE IF NOT EXISTS product_import_rows (
+    job_id      BIGINT         NOT NULL,
+    row_index   BIGINT         NOT NULL,
+    sku         VARCHAR(100)   NOT NULL,
+    name        VARCHAR(255)   NOT NULL,
+    description VARCHAR(500)   NOT NULL,
+    price       NUMERIC(38, 2) NOT NULL,
+    quantity    INTEGER        NOT NULL,
+    PRIMARY KEY (job_id, row_index)
+);
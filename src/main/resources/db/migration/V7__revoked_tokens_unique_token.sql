@@ -0,0 +1,12 @@
+-- Um refresh token vale para uma única renovação: a primeira instância que grava a revogação do jti
+-- é a dona da renovação, e as demais recebem a violação desta chave. Revogações USER continuam livres:
+-- o mesmo username pode ser revogado de novo (conta recriada e excluída outra vez).
+
+DELETE FROM revoked_tokens duplicate
+USING revoked_tokens kept
+WHERE duplicate.kind = 'TOKEN'
+  AND kept.kind = 'TOKEN'
+  AND duplicate.token_key = kept.token_key
+  AND duplicate.id > kept.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_revoked_tokens_token_key ON revoked_tokens (kind, token_key) WHERE kind = 'TOKEN';
@@ -0,0 +1,5 @@
+-- O payload é o ProductDTO em JSON: com nome, descrição e SKU no tamanho máximo e o escape do JSON
+-- (até 6 caracteres por caractere de controle), o evento não cabe em VARCHAR(2000). De VARCHAR para TEXT
+-- o PostgreSQL só troca o tipo, sem reescrever a tabela.
+
+ALTER TABLE product_outbox ALTER COLUMN payload TYPE TEXT;
@@ -0,0 +1,119 @@
+package com.api.reactive;
+
+import com.api.dto.ProductDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductHandlerTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(
+                ReactiveCatalogConfig.routes(new ReactiveProductHandler(productRepository))).build();
+    }
+
+    @Test
+    void deveRetornarPaginaNoMesmoFormatoDaApi() {
+        when(productRepository.findPage(1, 2)).thenReturn(Flux.just(product(3L, "Caneca", "19.90")));
+        when(productRepository.count()).thenReturn(Mono.just(3L));
+
+        client.get().uri("/products?page=1&size=2").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo("Caneca")
+                .jsonPath("$.content[0].createdBy").isEqualTo("seller")
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.number").isEqualTo(1)
+                .jsonPath("$.size").isEqualTo(2);
+    }
+
+    @Test
+    void deveRecusarParametrosDePaginaInvalidos() {
+        client.get().uri("/products?size=0").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Requisição inválida");
+        client.get().uri("/products?page=abc").exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void deveBuscarProdutoPorIdERetornar404QuandoNaoExiste() {
+        when(productRepository.findById(1L)).thenReturn(Mono.just(product(1L, "Camiseta", "99.90")));
+        when(productRepository.findById(2L)).thenReturn(Mono.empty());
+
+        client.get().uri("/products/1").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.price").isEqualTo(99.90);
+        client.get().uri("/products/2").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Produto com ID 2 não encontrado.")
+                .jsonPath("$.path").isEqualTo("/products/2");
+    }
+
+    @Test
+    void deveListarPorPrecoComoArrayOuNdjson() {
+        when(productRepository.findAllSortedByPrice(false)).thenAnswer(invocation ->
+                Flux.just(product(2L, "Tênis", "300.00"), product(1L, "Meia", "15.00")));
+
+        client.get().uri("/products?sort=DESC").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Tênis");
+
+        List<ProductDTO> streamed = client.get().uri("/products?sort=desc")
+                .accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDTO.class).getResponseBody()
+                .collectList().block();
+        assertEquals(List.of(2L, 1L), streamed.stream().map(ProductDTO::getId).toList());
+    }
+
+    @Test
+    void deveRecusarOrdenacaoInvalida() {
+        client.get().uri("/products?sort=name").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("O parâmetro de ordenação deve ser 'asc' ou 'desc'.");
+
+        verifyNoInteractions(productRepository);
+    }
+
+    private static ProductDTO product(long id, String name, String price) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setDescription("Descrição de " + name);
+        dto.setPrice(new BigDecimal(price));
+        dto.setQuantity(10);
+        dto.setCreatedBy("seller");
+        return dto;
+    }
+}
@@ -0,0 +1,23 @@
+package com.api.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Camada de leitura reativa do catálogo (profile Maven reactive): GET /products, /products/{id} e
+ * /products?sort= em WebFlux sobre R2DBC, sem JPA nem servlet. Roda como processo próprio ao lado da API,
+ * no mesmo banco. Só é carregada em aplicações reativas, para que o scan da API (servlet) a ignore.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCatalogApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveCatalogApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
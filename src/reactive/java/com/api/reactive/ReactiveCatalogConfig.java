@@ -0,0 +1,70 @@
+package com.api.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Rotas e segurança da camada reativa. Só os endpoints públicos de leitura existem aqui: escritas, login e
+ * rotas autenticadas continuam na API, então todo o resto é recusado.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ReactiveCatalogProperties.class)
+public class ReactiveCatalogConfig {
+
+    // O Tomcat da API também está no classpath e seria o servidor escolhido; o Netty atende as conexões
+    // com poucas threads de event loop
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveProductRepository reactiveProductRepository(DatabaseClient databaseClient,
+                                                               ReactiveCatalogProperties properties) {
+        return new ReactiveProductRepository(databaseClient, properties.getFetchSize());
+    }
+
+    @Bean
+    public ReactiveProductHandler reactiveProductHandler(ReactiveProductRepository reactiveProductRepository) {
+        return new ReactiveProductHandler(reactiveProductRepository);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> productRoutes(ReactiveProductHandler handler) {
+        return routes(handler);
+    }
+
+    // Mesma precedência do ProductController: com sort, a listagem por preço; sem outros filtros, a paginada
+    static RouterFunction<ServerResponse> routes(ReactiveProductHandler handler) {
+        return RouterFunctions.route()
+                .GET("/products/{id:\\d+}", handler::getProductById)
+                .GET("/products", request -> request.queryParam("sort").isPresent(), handler::getProductsSorted)
+                .GET("/products", request -> request.queryParams().keySet().stream()
+                        .allMatch(name -> name.equals("page") || name.equals("size")), handler::getAllProducts)
+                .build();
+    }
+
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.GET, "/products", "/products/*").permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .anyExchange().denyAll())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.api.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Camada de leitura reativa (prefixo app.reactive).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveCatalogProperties {
+
+    /**
+     * Linhas buscadas por vez na listagem ordenada por preço. O driver só pede o próximo bloco ao banco
+     * quando o cliente consome o anterior, então a memória usada não depende do tamanho do catálogo.
+     * Precisa ficar abaixo de 256, o limite da fila de respostas do r2dbc-postgresql: um bloco maior
+     * derruba a conexão quando o cliente lê devagar.
+     */
+    private int fetchSize = 200;
+}
@@ -0,0 +1,83 @@
+package com.api.reactive;
+
+import com.api.dto.ErrorResponse;
+import com.api.dto.ProductDTO;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Endpoints públicos de leitura de produtos, com as mesmas respostas (sucesso e erro) do ProductController.
+ */
+public class ReactiveProductHandler {
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductHandler(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * GET /products?page=&size= — página ordenada por nome, no mesmo formato de Page do endpoint MVC.
+     */
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        return Mono.fromCallable(() -> PageRequest.of(intParam(request, "page", 0), intParam(request, "size", 10),
+                        Sort.by(Sort.Direction.ASC, "name")))
+                .flatMap(pageable -> Mono.zip(
+                        productRepository.findPage(pageable.getPageNumber(), pageable.getPageSize()).collectList(),
+                        productRepository.count(),
+                        (content, total) -> new PageImpl<>(content, pageable, total)))
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page))
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(request, e.getMessage()));
+    }
+
+    /**
+     * GET /products/{id}
+     */
+    public Mono<ServerResponse> getProductById(ServerRequest request) {
+        long id = Long.parseLong(request.pathVariable("id"));
+        return productRepository.findById(id)
+                .flatMap(product -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(product))
+                .switchIfEmpty(Mono.defer(() -> error(request, HttpStatus.NOT_FOUND, "Produto não encontrado",
+                        "Produto com ID " + id + " não encontrado.")));
+    }
+
+    /**
+     * GET /products?sort=asc|desc — todo o catálogo por preço, escrito conforme é lido do banco. Com
+     * {@code Accept: application/x-ndjson} sai um produto por linha; caso contrário, um array JSON.
+     */
+    public Mono<ServerResponse> getProductsSorted(ServerRequest request) {
+        String sort = request.queryParam("sort").orElse("");
+        if (!sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
+            return badRequest(request, "O parâmetro de ordenação deve ser 'asc' ou 'desc'.");
+        }
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType)
+                .body(productRepository.findAllSortedByPrice(sort.equalsIgnoreCase("asc")), ProductDTO.class);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        // NumberFormatException é um IllegalArgumentException: vira 400 como os demais parâmetros inválidos
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    private static Mono<ServerResponse> badRequest(ServerRequest request, String message) {
+        return error(request, HttpStatus.BAD_REQUEST, "Requisição inválida", message);
+    }
+
+    private static Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String error, String message) {
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS), status.value(),
+                error, message, request.path());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
@@ -0,0 +1,91 @@
+package com.api.reactive;
+
+import com.api.dto.ProductDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Consultas de leitura dos produtos em R2DBC, mapeadas direto para {@link ProductDTO} (sem entidades).
+ * Mesmos resultados das consultas do ProductRepository usadas pelos endpoints públicos.
+ */
+public class ReactiveProductRepository {
+
+    private static final String SELECT_PRODUCTS = "SELECT p.id, p.sku, p.name, p.description, p.price, p.quantity, "
+            + "u.username AS created_by FROM products p LEFT JOIN users u ON u.id = p.created_by";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+    private final AtomicReference<Mono<Long>> countInFlight = new AtomicReference<>();
+
+    public ReactiveProductRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<ProductDTO> findById(long id) {
+        return databaseClient.sql(SELECT_PRODUCTS + " WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toDTO)
+                .one();
+    }
+
+    /**
+     * Página da listagem padrão (por nome; o ID desempata nomes iguais entre as páginas).
+     */
+    public Flux<ProductDTO> findPage(int page, int size) {
+        return databaseClient.sql(SELECT_PRODUCTS + " ORDER BY p.name, p.id LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Total de produtos. Contagens simultâneas compartilham a mesma consulta, como o SingleFlight da API: o
+     * count percorre a tabela inteira e, sob carga, seria repetido por cada requisição de página.
+     */
+    public Mono<Long> count() {
+        return Mono.defer(() -> {
+            Mono<Long> current = countInFlight.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<Long> query = databaseClient.sql("SELECT count(*) FROM products")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .doFinally(signal -> countInFlight.set(null))
+                    .cache();
+            current = countInFlight.compareAndExchange(null, query);
+            return current != null ? current : query;
+        });
+    }
+
+    /**
+     * Todos os produtos por preço, lidos em blocos de fetchSize conforme a demanda do assinante.
+     */
+    public Flux<ProductDTO> findAllSortedByPrice(boolean ascending) {
+        return databaseClient.sql(SELECT_PRODUCTS + " ORDER BY p.price " + (ascending ? "ASC" : "DESC")
+                        + " NULLS LAST")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    private static ProductDTO toDTO(Readable row) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setSku(row.get("sku", String.class));
+        dto.setName(row.get("name", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setPrice(row.get("price", BigDecimal.class));
+        dto.setQuantity(row.get("quantity", Integer.class));
+        String createdBy = row.get("created_by", String.class);
+        dto.setCreatedBy(createdBy != null ? createdBy : "Desconhecido");
+        return dto;
+    }
+}
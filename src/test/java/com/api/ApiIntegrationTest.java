@@ -0,0 +1,298 @@
+package com.api;
+
+import com.api.enums.Role;
+import com.api.model.User;
+import com.api.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Sobe a aplicação completa contra o H2 (profile test) e percorre os fluxos principais de autenticação,
+ * produtos e usuários com JWT real. Também roda como teste nativo (mvn -PnativeTest test), validando os
+ * hints da imagem nativa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ApiIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByUsername("admin").isEmpty()) {
+            userRepository.save(new User(null, "admin", passwordEncoder.encode("admin123"), Role.ADMIN));
+        }
+    }
+
+    @Test
+    void deveCadastrarSellerCriarEListarProdutos() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"sellerIntegracao\",\"password\":\"senha123\",\"role\":\"SELLER\"}"))
+                .andExpect(status().isCreated());
+        String token = login("sellerIntegracao", "senha123");
+
+        String created = mockMvc.perform(post("/products")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Notebook\",\"description\":\"Notebook 16GB\",\"price\":4500.00,\"quantity\":3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdBy").value("sellerIntegracao"))
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(get("/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Notebook"));
+        mockMvc.perform(get("/products").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Notebook")));
+        mockMvc.perform(get("/products/mine").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id));
+        mockMvc.perform(get("/products/mine/summary").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productCount").value(1));
+    }
+
+    @Test
+    void deveListarExclusaoNoFeedDeAlteracoesSemAutenticacao() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"sellerFeed\",\"password\":\"senha123\",\"role\":\"SELLER\"}"))
+                .andExpect(status().isCreated());
+        String token = login("sellerFeed", "senha123");
+        String created = mockMvc.perform(post("/products")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Removido\",\"description\":\"Produto removido\",\"price\":10.00,\"quantity\":1}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(created, "$.id");
+        mockMvc.perform(delete("/products/{id}", id).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/products/changes").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[?(@.id == " + id + ")].type", hasItem("DELETE")))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+        mockMvc.perform(get("/products/changes").param("since", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adminDeveExportarCatalogoComprimidoESellerNao() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"sellerExportacao\",\"password\":\"senha123\",\"role\":\"SELLER\"}"))
+                .andExpect(status().isCreated());
+        String sellerToken = login("sellerExportacao", "senha123");
+        mockMvc.perform(post("/products")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + sellerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Exportado\",\"description\":\"Produto exportado\",\"price\":12.00,\"quantity\":4}"))
+                .andExpect(status().isOk());
+        String adminToken = login("admin", "admin123");
+
+        byte[] body = mockMvc.perform(get("/products/export").param("format", "ndjson")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(ndjson.contains("\"name\":\"Exportado\""));
+        }
+
+        mockMvc.perform(get("/products/export").param("format", "xml")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + sellerToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void sellerDeveImportarProdutosEmCsvEAcompanharOJob() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"sellerImportacao\",\"password\":\"senha123\",\"role\":\"SELLER\"}"))
+                .andExpect(status().isCreated());
+        String token = login("sellerImportacao", "senha123");
+        String csv = "sku,name,description,price,quantity\n"
+                + "IMP-1,Importado,\"Produto importado, em CSV\",19.90,5\n"
+                + "IMP-2,Sem preço,Linha recusada,,1\n";
+
+        String accepted = mockMvc.perform(post("/products/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.invalidRows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andReturn().getResponse().getContentAsString();
+        Integer jobId = JsonPath.read(accepted, "$.id");
+
+        String status = "QUEUED";
+        for (int attempt = 0; attempt < 50 && !status.equals("COMPLETED") && !status.equals("FAILED"); attempt++) {
+            Thread.sleep(100);
+            status = JsonPath.read(mockMvc.perform(get("/products/import/{id}", jobId)
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("COMPLETED", status);
+
+        mockMvc.perform(get("/products/mine").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sku").value("IMP-1"))
+                .andExpect(jsonPath("$[0].description").value("Produto importado, em CSV"));
+        mockMvc.perform(get("/products/import/{id}", jobId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("admin", "admin123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/products/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("sku,name\nX,Y\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveExigirAdminParaMetricasNaPortaDaApi() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        // O Spring Boot desliga a exportação do Prometheus nos testes: o ADMIN passa pela segurança e o endpoint
+        // não existe
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("admin", "admin123")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRejeitarCriacaoDeProdutoSemToken() throws Exception {
+        mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Mouse\",\"description\":\"Mouse sem fio\",\"price\":99.90,\"quantity\":1}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401));
+    }
+
+    @Test
+    void adminDeveListarUsuariosECustomerNao() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"customerIntegracao\",\"password\":\"senha123\",\"role\":\"CUSTOMER\"}"))
+                .andExpect(status().isCreated());
+        String customerToken = login("customerIntegracao", "senha123");
+        String adminToken = login("admin", "admin123");
+
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + customerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("customerIntegracao"));
+        mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + customerToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].username", hasItem("customerIntegracao")));
+    }
+
+    @Test
+    void deveRecusarTokenDepoisDoLogoutEDaExclusaoDaConta() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"customerRevogado\",\"password\":\"senha123\",\"role\":\"CUSTOMER\"}"))
+                .andExpect(status().isCreated());
+        String firstToken = login("customerRevogado", "senha123");
+        String secondToken = login("customerRevogado", "senha123");
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + firstToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + firstToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRenovarTokenComRefreshTokenDeUsoUnico() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"customerRefresh\",\"password\":\"senha123\",\"role\":\"CUSTOMER\"}"))
+                .andExpect(status().isCreated());
+        String loginResponse = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"customerRefresh\",\"password\":\"senha123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = JsonPath.read(loginResponse, "$.refreshToken");
+
+        // O refresh token não vale como token de acesso
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+
+        String refreshResponse = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String newToken = JsonPath.read(refreshResponse, "$.token");
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken))
+                .andExpect(status().isOk());
+
+        // Cada refresh token vale para uma única renovação
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String login(String username, String password) throws Exception {
+        String response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.token");
+    }
+}
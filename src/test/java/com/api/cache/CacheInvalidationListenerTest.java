@@ -0,0 +1,129 @@
+package com.api.cache;
+
+import com.api.model.Product;
+import com.api.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class CacheInvalidationListenerTest {
+
+    private static final String NODE_ID = "node-a";
+
+    private Cache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationProperties properties;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(Cache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CacheInvalidationProperties();
+        properties.setEnabled(true);
+        properties.setPollTimeoutMs(10);
+        properties.setReconnectDelayMs(10);
+        listener = new CacheInvalidationListener(() -> {
+            throw new SQLException("sem banco");
+        }, cache, properties, NODE_ID, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void deveRemoverProdutoAlteradoPorOutraInstancia() {
+        listener.handle(message(CacheInvalidationMessage.EntityType.PRODUCT, 7L, "node-b"));
+
+        verify(cache).evictEntityData(Product.class, 7L);
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.received").tag("type", "product").counter().count());
+        assertEquals(1, meterRegistry.get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void deveRemoverUsuarioEConsultasPorUsername() {
+        listener.handle(message(CacheInvalidationMessage.EntityType.USER, 3L, "node-b"));
+
+        verify(cache).evictEntityData(User.class, 3L);
+        verify(cache).evictNaturalIdData(User.class);
+        verify(cache).evictQueryRegion(CacheInvalidationListener.USER_BY_USERNAME_QUERY_REGION);
+    }
+
+    @Test
+    void deveIgnorarAlteracoesDaPropriaInstancia() {
+        listener.handle(message(CacheInvalidationMessage.EntityType.PRODUCT, 7L, NODE_ID));
+
+        verifyNoInteractions(cache);
+        assertEquals(0, meterRegistry.get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void deveIgnorarMensagemInvalida() {
+        listener.handle("lixo");
+
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void deveRecusarCanalQueNaoSejaIdentificadorSimples() {
+        properties.setChannel("canal; DROP TABLE users");
+
+        assertThrows(IllegalArgumentException.class, () -> new CacheInvalidationListener(() -> null, cache,
+                properties, NODE_ID, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void naoDeveIniciarSozinhoQuandoDesativado() {
+        properties.setEnabled(false);
+
+        assertFalse(listener.isAutoStartup());
+    }
+
+    @Test
+    void deveEscutarOCanalELimparOCacheAoReconectar() throws SQLException {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter())
+                .thenReturn(message(CacheInvalidationMessage.EntityType.PRODUCT, 9L, "node-b"));
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{notification})
+                .thenReturn(null);
+        Statement statement = mock(Statement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        CacheInvalidationListener.ConnectionFactory connectionFactory = mock(CacheInvalidationListener.ConnectionFactory.class);
+        when(connectionFactory.connect())
+                .thenThrow(new SQLException("primário indisponível"))
+                .thenReturn(connection);
+        listener = new CacheInvalidationListener(connectionFactory, cache, properties, NODE_ID, meterRegistry);
+
+        listener.start();
+
+        verify(statement, timeout(TimeUnit.SECONDS.toMillis(5))).execute("LISTEN cache_invalidation");
+        verify(cache, timeout(TimeUnit.SECONDS.toMillis(5))).evictEntityData(Product.class, 9L);
+        verify(cache).evictAllRegions();
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.resyncs").counter().count());
+    }
+
+    private static String message(CacheInvalidationMessage.EntityType type, long id, String origin) {
+        return new CacheInvalidationMessage(type, id, origin, System.currentTimeMillis()).encode();
+    }
+}
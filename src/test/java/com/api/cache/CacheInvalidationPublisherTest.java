@@ -0,0 +1,82 @@
+package com.api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class CacheInvalidationPublisherTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CacheInvalidationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new CacheInvalidationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new CacheInvalidationPublisher(jdbcTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void naoDevePublicarQuandoDesativado() {
+        publisher.productChanged(1L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void devePublicarAlteracaoNoCanalConfigurado() {
+        properties.setEnabled(true);
+
+        publisher.productChanged(42L);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), ArgumentMatchers.<ResultSetExtractor<Object>>any(),
+                eq("cache_invalidation"), payload.capture());
+        CacheInvalidationMessage message = CacheInvalidationMessage.parse(payload.getValue());
+        assertEquals(CacheInvalidationMessage.EntityType.PRODUCT, message.type());
+        assertEquals(42L, message.id());
+        assertEquals(publisher.getNodeId(), message.origin());
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.published").tag("type", "product").counter().count());
+    }
+
+    @Test
+    void devePublicarVariosProdutosNumUnicoComando() {
+        properties.setEnabled(true);
+
+        publisher.productsChanged(List.of(1L, 2L, 3L));
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ? || id || ?) FROM unnest(CAST(? AS BIGINT[])) AS id"),
+                ArgumentMatchers.<ResultSetExtractor<Object>>any(), eq("cache_invalidation"), eq("product:"), anyString(),
+                eq("{1,2,3}"));
+        assertEquals(3.0, meterRegistry.get("cache.invalidation.published").tag("type", "product").counter().count());
+
+        publisher.productsChanged(List.of());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void naoDevePublicarSemId() {
+        properties.setEnabled(true);
+
+        publisher.userChanged(null);
+
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<ResultSetExtractor<Object>>any(), any(Object[].class));
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheRuntimeHintsTest {
+
+    @Test
+    void deveRegistrarProviderJCacheEConfiguracaoDasRegioes() {
+        RuntimeHints hints = new RuntimeHints();
+        new CacheRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(CacheRuntimeHints.CACHING_PROVIDER))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource(CacheRuntimeHints.REGIONS_CONFIG).test(hints));
+        assertDoesNotThrow(() -> Class.forName(CacheRuntimeHints.CACHING_PROVIDER));
+        assertNotNull(getClass().getClassLoader().getResource(CacheRuntimeHints.REGIONS_CONFIG));
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class FlywayConfigTest {
+
+    @Test
+    void deveMigrarNaSubidaNormal() {
+        Flyway flyway = mock(Flyway.class);
+
+        new FlywayConfig().flywayMigrationStrategy(new MockEnvironment()).migrate(flyway);
+
+        verify(flyway).migrate();
+    }
+
+    @Test
+    void naoDeveMigrarNaExecucaoDeTreinoDoCds() {
+        Flyway flyway = mock(Flyway.class);
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.context.exit", "onRefresh");
+
+        new FlywayConfig().flywayMigrationStrategy(environment).migrate(flyway);
+
+        verifyNoInteractions(flyway);
+    }
+}
@@ -0,0 +1,93 @@
+package com.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica0;
+    private DataSource replica1;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica0 = replicaWithLag(0);
+        replica1 = replicaWithLag(0);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), 10, 2, "SELECT lag");
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void deveEnviarEscritasParaOPrimario() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void deveAlternarEntreAsReplicasEmLeituras() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void deveExcluirReplicaComAtrasoAcimaDoLimite() throws SQLException {
+        DataSource lagging = replicaWithLag(30);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(lagging, replica1), 10, 2, "SELECT lag");
+        routingDataSource.refreshReplicaHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-1"), routingDataSource.getHealthyReplicas());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void deveVoltarParaOPrimarioSemReplicasSaudaveis() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("Conexão recusada"));
+        when(replica1.getConnection()).thenThrow(new SQLException("Conexão recusada"));
+        routingDataSource.refreshReplicaHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private DataSource replicaWithLag(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return dataSource;
+    }
+}
@@ -8,14 +8,20 @@ import com.api.exception.UserNotFoundException;
 import com.api.model.User;
 import com.api.repository.UserRepository;
 import com.api.security.JwtUtil;
+import com.api.service.TokenRevocationService;
 import com.api.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,12 +31,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInNativeImage // Mockito não roda na imagem nativa
 @ExtendWith(MockitoExtension.class)
 class AuthControllerTest {
 
@@ -48,6 +57,9 @@ class AuthControllerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -103,13 +115,86 @@ class AuthControllerTest {
                 .thenReturn(authentication);
         when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
         when(jwtUtil.generateToken("user", "CUSTOMER")).thenReturn("mocked-jwt-token");
+        when(jwtUtil.generateRefreshToken("user")).thenReturn("mocked-refresh-token");
+        when(jwtUtil.getAccessTokenValidity()).thenReturn(Duration.ofMinutes(15));
 
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"username\":\"user\",\"password\":\"password\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("mocked-jwt-token"))
-                .andExpect(jsonPath("$.role").value("CUSTOMER"));
+                .andExpect(jsonPath("$.role").value("CUSTOMER"))
+                .andExpect(jsonPath("$.refreshToken").value("mocked-refresh-token"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    void deveRenovarTokenETrocarORefreshToken() throws Exception {
+        Date expiration = new Date(1_900_000_000_000L);
+        Claims claims = Jwts.claims().setId("refresh-1").setSubject("user").setExpiration(expiration);
+        when(jwtUtil.parseRefreshToken("refresh-valido")).thenReturn(claims);
+        when(tokenRevocationService.revokeToken("refresh-1", expiration)).thenReturn(true);
+        when(userRepository.findByUsername("user")).thenReturn(Optional.of(new User(1L, "user", "password", Role.SELLER)));
+        when(jwtUtil.generateToken("user", "SELLER")).thenReturn("novo-token");
+        when(jwtUtil.generateRefreshToken("user")).thenReturn("novo-refresh");
+        when(jwtUtil.getAccessTokenValidity()).thenReturn(Duration.ofMinutes(15));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh-valido\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("novo-token"))
+                .andExpect(jsonPath("$.role").value("SELLER"))
+                .andExpect(jsonPath("$.refreshToken").value("novo-refresh"));
+
+        // O refresh token usado não serve para uma segunda renovação
+        verify(tokenRevocationService).revokeToken("refresh-1", expiration);
+    }
+
+    @Test
+    void naoDeveRenovarComRefreshTokenInvalido() throws Exception {
+        when(jwtUtil.parseRefreshToken("token-de-acesso")).thenThrow(new JwtException("não é refresh token"));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"token-de-acesso\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token inválido ou expirado."));
+
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void naoDeveRenovarComRefreshTokenRevogado() throws Exception {
+        Claims claims = Jwts.claims().setId("refresh-1").setSubject("user");
+        when(jwtUtil.parseRefreshToken("refresh-usado")).thenReturn(claims);
+        when(tokenRevocationService.isRevoked("refresh-1", "user", null)).thenReturn(true);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh-usado\"}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(tokenRevocationService, never()).revokeToken(any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void naoDeveRenovarQuandoORefreshTokenJaFoiUsadoEmOutraRequisicao() throws Exception {
+        Date expiration = new Date(1_900_000_000_000L);
+        Claims claims = Jwts.claims().setId("refresh-1").setSubject("user").setExpiration(expiration);
+        when(jwtUtil.parseRefreshToken("refresh-valido")).thenReturn(claims);
+        // Ainda não sincronizado na memória, mas já gravado no banco por outra requisição ou instância
+        when(tokenRevocationService.revokeToken("refresh-1", expiration)).thenReturn(false);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh-valido\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token revogado."));
+
+        verifyNoInteractions(userRepository);
+        verify(jwtUtil, never()).generateRefreshToken(any());
     }
 
     @Test
@@ -131,6 +216,32 @@ class AuthControllerTest {
                 .andExpect(content().string("Logout realizado com sucesso."));
     }
 
+    @Test
+    void deveRevogarTokenNoLogout() throws Exception {
+        Date expiration = new Date(1_900_000_000_000L);
+        Claims claims = Jwts.claims().setId("jti-1").setExpiration(expiration);
+        when(jwtUtil.parseToken("token-valido")).thenReturn(claims);
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer token-valido"))
+                .andExpect(status().isOk());
+
+        verify(tokenRevocationService).revokeToken("jti-1", expiration);
+    }
+
+    @Test
+    void deveRevogarRefreshTokenEnviadoNoLogout() throws Exception {
+        Date expiration = new Date(1_900_000_000_000L);
+        when(jwtUtil.parseRefreshToken("refresh-valido"))
+                .thenReturn(Jwts.claims().setId("refresh-1").setExpiration(expiration));
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh-valido\"}"))
+                .andExpect(status().isOk());
+
+        verify(tokenRevocationService).revokeToken("refresh-1", expiration);
+    }
+
     @Test
     void naoDeveRegistrarUsuarioDuplicado() throws Exception {
         AuthRequest request = new AuthRequest("existingUser", "password", Role.CUSTOMER);
@@ -0,0 +1,131 @@
+package com.api.controller;
+
+import com.api.exception.GlobalExceptionHandler;
+import com.api.imports.ProductImportService;
+import com.api.service.ProductChangeFeedService;
+import com.api.service.ProductExportService;
+import com.api.service.ProductService;
+import com.api.service.SellerStatsService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    private static final String FIRST_CHUNK = "id,sku,name,description,price,quantity,createdBy\n1,,Camiseta,Algodão,99.90,15,joao\n";
+
+    private MockMvc mockMvc;
+    private final AtomicReference<MockHttpServletResponse> lastResponse = new AtomicReference<>();
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private SellerStatsService sellerStatsService;
+
+    @Mock
+    private ProductChangeFeedService changeFeedService;
+
+    @Mock
+    private ProductExportService exportService;
+
+    @Mock
+    private ProductImportService importService;
+
+    @InjectMocks
+    private ProductController productController;
+
+    @BeforeEach
+    void setUp() {
+        // A requisição falha com exceção: a resposta é guardada antes, para inspecionar o que foi enviado
+        Filter captureResponse = (request, response, chain) -> {
+            lastResponse.set((MockHttpServletResponse) response);
+            chain.doFilter(request, response);
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(captureResponse)
+                .build();
+    }
+
+    @Test
+    void naoDeveAnexarErroAoCorpoQuandoAExportacaoFalhaDepoisDoPrimeiroBloco() throws Exception {
+        failAfterFirstChunk();
+
+        assertThrows(ServletException.class, () -> mockMvc.perform(get("/products/export")));
+
+        MockHttpServletResponse response = lastResponse.get();
+        assertTrue(response.isCommitted());
+        assertEquals(FIRST_CHUNK, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void naoDeveAnexarErroForaDoGzipQuandoAExportacaoFalhaDepoisDoPrimeiroBloco() throws Exception {
+        failAfterFirstChunk();
+
+        assertThrows(ServletException.class, () -> mockMvc.perform(get("/products/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")));
+
+        // Só o trecho comprimido já enviado: gzip truncado, sem o JSON de erro solto depois dele
+        byte[] body = lastResponse.get().getContentAsByteArray();
+        assertFalse(new String(body, StandardCharsets.ISO_8859_1).contains("\"status\":500"));
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        assertThrows(EOFException.class, () -> {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                in.transferTo(decompressed);
+            }
+        });
+        assertTrue(FIRST_CHUNK.startsWith(decompressed.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void deveResponderErroEmJsonQuandoAExportacaoFalhaAntesDoPrimeiroEnvio() throws Exception {
+        when(exportService.export(eq(ProductExportService.Format.CSV), any()))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/products/export")).andReturn().getResponse();
+
+        assertEquals(500, response.getStatus());
+        assertTrue(response.getContentType().startsWith("application/json"));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("\"message\":\"Banco indisponível\""));
+    }
+
+    private void failAfterFirstChunk() {
+        when(exportService.export(eq(ProductExportService.Format.CSV), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(FIRST_CHUNK.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            // Como no driver: a conexão perdida chega com um EOFException na causa
+            throw new DataAccessResourceFailureException("Conexão com o banco perdida durante o COPY",
+                    new EOFException());
+        });
+    }
+}
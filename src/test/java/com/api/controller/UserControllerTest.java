@@ -1,13 +1,17 @@
 package com.api.controller;
 
 import com.api.dto.AuthRequest;
+import com.api.dto.SellerProductStatsDTO;
 import com.api.dto.UserDTO;
 import com.api.enums.Role;
 import com.api.exception.GlobalExceptionHandler;
+import com.api.model.SellerProductStats;
 import com.api.model.User;
+import com.api.service.SellerStatsService;
 import com.api.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -19,6 +23,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.math.BigDecimal;
 import java.security.Principal;
 import java.util.List;
 
@@ -28,6 +33,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInNativeImage // Mockito não roda na imagem nativa
 @ExtendWith(MockitoExtension.class)
 class UserControllerTest {
 
@@ -36,6 +42,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SellerStatsService sellerStatsService;
+
     @InjectMocks
     private UserController userController;
 
@@ -134,6 +143,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("customerUser"));
     }
 
+    @Test
+    void deveRetornarResumoDeProdutosDoUsuario() throws Exception {
+        SellerProductStats stats = new SellerProductStats(3, 30, new BigDecimal("450.00"),
+                new BigDecimal("10.00"), new BigDecimal("200.00"));
+        when(sellerStatsService.getStatsByUserId(2L)).thenReturn(new SellerProductStatsDTO(2L, stats));
+
+        mockMvc.perform(get("/users/2/product-stats").principal(adminPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productCount").value(3))
+                .andExpect(jsonPath("$.totalStockValue").value(450.00))
+                .andExpect(jsonPath("$.maxPrice").value(200.00));
+    }
+
     @Test
     void devePermitirQueAdminExcluaUsuarioPorId() throws Exception {
         when(userService.findByUsername("adminUser")).thenReturn(admin);
@@ -0,0 +1,104 @@
+package com.api.events;
+
+import com.api.enums.Role;
+import com.api.model.Product;
+import com.api.model.ProductOutboxEntry;
+import com.api.model.User;
+import com.api.repository.ProductOutboxRepository;
+import com.api.repository.ProductRepository;
+import com.api.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gravação no outbox e consulta de bloqueio do relay contra o banco.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ProductEventOutboxTest {
+
+    @Autowired
+    private ProductOutboxRepository outboxRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ProductEventOutbox outbox;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new ProductEventOutbox(outboxRepository, new ObjectMapper(), new ProductOutboxProperties());
+        User seller = userRepository.save(new User(null, "seller", "password", Role.SELLER));
+        product = productRepository.save(new Product(null, "Produto", "Descrição", new BigDecimal("10.00"), 3, seller));
+    }
+
+    @Test
+    void deveGravarOEstadoDoProdutoNoEvento() {
+        outbox.record(ProductOutboxEntry.Type.CREATED, product);
+
+        ProductOutboxEntry entry = outboxRepository.findAll().get(0);
+        assertEquals(product.getId(), entry.getProductId());
+        assertEquals(product.getCreatedBy().getId(), entry.getSellerId());
+        assertTrue(entry.getPayload().contains("\"name\":\"Produto\""));
+        assertNull(entry.getPublishedAt());
+    }
+
+    @Test
+    void deveGravarEventoDeProdutoComCamposNoTamanhoMaximo() {
+        // No JSON cada caractere de controle vira um escape de seis caracteres
+        product.setName("\u0001".repeat(255));
+        product.setDescription("\u0001".repeat(500));
+        product.setSku("\u0001".repeat(100));
+        product = productRepository.save(product);
+
+        outbox.record(ProductOutboxEntry.Type.UPDATED, product);
+
+        String payload = outboxRepository.findAll().get(0).getPayload();
+        assertTrue(payload.length() > 5000);
+        assertTrue(payload.contains("\\u0001".repeat(500)));
+    }
+
+    @Test
+    void deveBloquearSomenteEventosPendentesEDisponiveisEmOrdem() {
+        outbox.record(ProductOutboxEntry.Type.CREATED, product);
+        outbox.record(ProductOutboxEntry.Type.UPDATED, product);
+        outbox.record(ProductOutboxEntry.Type.STOCK_CHANGED, product);
+        outbox.record(ProductOutboxEntry.Type.DELETED, product);
+        List<ProductOutboxEntry> entries = outboxRepository.findAll();
+        // Publicado, aguardando nova tentativa e abandonado
+        outboxRepository.markPublished(List.of(entries.get(0).getId()), Instant.now());
+        entries.get(1).setAvailableAt(Instant.now().plus(Duration.ofMinutes(1)));
+        entries.get(2).setFailedAt(Instant.now());
+        outboxRepository.flush();
+
+        List<ProductOutboxEntry> batch = outboxRepository.lockNextBatch(Instant.now(), 10);
+
+        assertEquals(List.of(entries.get(3).getId()), batch.stream().map(ProductOutboxEntry::getId).toList());
+    }
+
+    @Test
+    void naoDeveGravarComOutboxDesativado() {
+        ProductOutboxProperties disabled = new ProductOutboxProperties();
+        disabled.setEnabled(false);
+
+        new ProductEventOutbox(outboxRepository, new ObjectMapper(), disabled)
+                .record(ProductOutboxEntry.Type.CREATED, product);
+
+        assertEquals(0, outboxRepository.count());
+    }
+}
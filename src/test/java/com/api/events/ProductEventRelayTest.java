@@ -0,0 +1,129 @@
+package com.api.events;
+
+import com.api.model.ProductOutboxEntry;
+import com.api.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class ProductEventRelayTest {
+
+    private static final String PAYLOAD = "{\"id\":7,\"name\":\"Produto\",\"price\":10.00,\"quantity\":3,"
+            + "\"createdBy\":\"seller\"}";
+
+    private ProductOutboxRepository repository;
+    private ProductOutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private List<ProductEvent> received;
+    private ProductEventSubscriber failing;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProductOutboxRepository.class);
+        properties = new ProductOutboxProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        received = new ArrayList<>();
+        failing = mock(ProductEventSubscriber.class);
+    }
+
+    @Test
+    void deveEntregarEventosAosAssinantesEMarcarComoPublicados() {
+        ProductOutboxEntry first = entry(1L, ProductOutboxEntry.Type.CREATED);
+        ProductOutboxEntry second = entry(2L, ProductOutboxEntry.Type.STOCK_CHANGED);
+        when(repository.lockNextBatch(any(), eq(100))).thenReturn(List.of(first, second));
+
+        relay(received::add).relay();
+
+        assertEquals(List.of(1L, 2L), received.stream().map(ProductEvent::id).toList());
+        assertEquals("Produto", received.get(0).product().getName());
+        assertEquals(7L, received.get(1).productId());
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any());
+        assertEquals(1.0, meterRegistry.get("outbox.events.dispatched").tag("type", "stock_changed")
+                .counter().count());
+    }
+
+    @Test
+    void deveContinuarEnquantoOsLotesVieremCheios() {
+        properties.setBatchSize(1);
+        when(repository.lockNextBatch(any(), eq(1)))
+                .thenReturn(List.of(entry(1L, ProductOutboxEntry.Type.CREATED)))
+                .thenReturn(List.of(entry(2L, ProductOutboxEntry.Type.UPDATED)))
+                .thenReturn(List.of());
+
+        relay(received::add).relay();
+
+        assertEquals(2, received.size());
+        verify(repository, times(3)).lockNextBatch(any(), eq(1));
+    }
+
+    @Test
+    void deveReagendarEventoQuandoUmAssinanteFalha() {
+        ProductOutboxEntry ok = entry(1L, ProductOutboxEntry.Type.UPDATED);
+        ProductOutboxEntry broken = entry(2L, ProductOutboxEntry.Type.UPDATED);
+        when(repository.lockNextBatch(any(), anyInt())).thenReturn(List.of(ok, broken));
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0, ProductEvent.class).id() == 2L) {
+                throw new IllegalStateException("índice fora do ar");
+            }
+            return null;
+        }).when(failing).onProductEvent(any());
+
+        Instant before = Instant.now();
+        relay(failing).relay();
+
+        verify(repository).markPublished(eq(List.of(1L)), any());
+        assertEquals(1, broken.getAttempts());
+        assertTrue(broken.getAvailableAt().isAfter(before));
+        assertNull(broken.getFailedAt());
+        assertTrue(broken.getLastError().contains("índice fora do ar"));
+        assertEquals(1.0, meterRegistry.get("outbox.events.retries").counter().count());
+    }
+
+    @Test
+    void deveAbandonarEventoDepoisDoLimiteDeTentativas() {
+        ProductOutboxEntry broken = entry(1L, ProductOutboxEntry.Type.DELETED);
+        broken.setAttempts(properties.getMaxAttempts() - 1);
+        when(repository.lockNextBatch(any(), anyInt())).thenReturn(List.of(broken));
+        doThrow(new IllegalStateException("falha")).when(failing).onProductEvent(any());
+
+        relay(failing).relay();
+
+        assertNotNull(broken.getFailedAt());
+        verify(repository, never()).markPublished(any(), any());
+        assertEquals(1.0, meterRegistry.get("outbox.events.failed").counter().count());
+    }
+
+    @Test
+    void naoDeveLerOOutboxQuandoDesativado() {
+        properties.setEnabled(false);
+
+        relay(received::add).relay();
+
+        verifyNoInteractions(repository);
+    }
+
+    private ProductEventRelay relay(ProductEventSubscriber subscriber) {
+        return new ProductEventRelay(repository, mock(PlatformTransactionManager.class), List.of(subscriber),
+                new ObjectMapper(), properties, meterRegistry);
+    }
+
+    private static ProductOutboxEntry entry(long id, ProductOutboxEntry.Type type) {
+        ProductOutboxEntry entry = new ProductOutboxEntry(type, 7L, 3L, PAYLOAD, Instant.now());
+        entry.setId(id);
+        return entry;
+    }
+}
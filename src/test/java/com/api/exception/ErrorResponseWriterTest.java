@@ -0,0 +1,60 @@
+package com.api.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveEscreverOFormatoPadraoDeErro() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ErrorResponseWriter.template(HttpStatus.NOT_FOUND, "Produto não encontrado")
+                .send(response, "Produto com ID 99 não encontrado.", "/products/99");
+
+        assertEquals(404, response.getStatus());
+        assertTrue(response.getContentType().startsWith("application/json"));
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(404, body.get("status").asInt());
+        assertEquals("Produto não encontrado", body.get("error").asText());
+        assertEquals("Produto com ID 99 não encontrado.", body.get("message").asText());
+        assertEquals("/products/99", body.get("path").asText());
+        assertDoesNotThrow(() -> LocalDateTime.parse(body.get("timestamp").asText()));
+    }
+
+    @Test
+    void deveEscaparMensagemECaminho() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String message = "name: \"obrigatório\"\n\tprice: \\ inválido \u0001 😀";
+
+        ErrorResponseWriter.template(HttpStatus.BAD_REQUEST, "Erro de validação")
+                .send(response, message, "/products/\"x\"");
+
+        JsonNode body = objectMapper.readTree(response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(message, body.get("message").asText());
+        assertEquals("/products/\"x\"", body.get("path").asText());
+    }
+
+    @Test
+    void modeloComMensagemFixaDeveIgnorarAMensagemInformada() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ErrorResponseWriter.template(HttpStatus.UNAUTHORIZED, "Acesso negado", "Mensagem fixa.")
+                .send(response, "/products/mine");
+
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(401, response.getStatus());
+        assertEquals("Mensagem fixa.", body.get("message").asText());
+        assertEquals("/products/mine", body.get("path").asText());
+    }
+}
@@ -0,0 +1,266 @@
+package com.api.imports;
+
+import com.api.cache.CacheInvalidationProperties;
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.dto.ProductImportJobDTO;
+import com.api.enums.Role;
+import com.api.events.ProductEventOutbox;
+import com.api.events.ProductOutboxProperties;
+import com.api.exception.ProductOwnershipException;
+import com.api.exception.UserNotAllowedException;
+import com.api.model.Product;
+import com.api.model.ProductImportError;
+import com.api.model.ProductImportJob;
+import com.api.model.ProductOutboxEntry;
+import com.api.model.User;
+import com.api.repository.ProductImportErrorRepository;
+import com.api.repository.ProductImportJobRepository;
+import com.api.repository.ProductImportRowRepository;
+import com.api.repository.ProductOutboxRepository;
+import com.api.repository.ProductRepository;
+import com.api.repository.SellerProductStatsRepository;
+import com.api.repository.UserRepository;
+import com.api.service.SellerStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Importação contra o banco (caminho usado fora do PostgreSQL): validação das linhas, criação e atualização
+ * pelo SKU em vários blocos e estado do job. Sem a transação do teste, para que o executor veja o que foi gravado.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerProductStatsRepository statsRepository;
+
+    @Autowired
+    private ProductOutboxRepository outboxRepository;
+
+    @Autowired
+    private ProductImportJobRepository jobRepository;
+
+    @Autowired
+    private ProductImportErrorRepository errorRepository;
+
+    @Autowired
+    private ProductImportRowRepository rowRepository;
+
+    private ExecutorService executor;
+    private ProductImportService importService;
+    private SellerStatsService sellerStatsService;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        ProductImportProperties properties = new ProductImportProperties();
+        properties.setChunkSize(2);
+        properties.setMaxReportedErrors(1);
+        executor = Executors.newSingleThreadExecutor();
+        sellerStatsService = new SellerStatsService(statsRepository, userRepository);
+        ProductImportStaging staging = new ProductImportStaging(entityManager, productRepository, rowRepository,
+                new ProductEventOutbox(outboxRepository, new ObjectMapper(), new ProductOutboxProperties()),
+                new CacheInvalidationPublisher(jdbcTemplate, new CacheInvalidationProperties(),
+                        new SimpleMeterRegistry()));
+        importService = new ProductImportService(jobRepository, errorRepository, userRepository, sellerStatsService,
+                staging, transactionManager, executor, properties);
+        seller = userRepository.save(new User(null, "seller", "password", Role.SELLER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        outboxRepository.deleteAll();
+        errorRepository.deleteAll();
+        jobRepository.deleteAll();
+        productRepository.deleteAll();
+        statsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deveCriarEAtualizarProdutosPeloSkuEmBlocos() throws Exception {
+        Product existing = new Product(null, "Antigo", "Descrição antiga", new BigDecimal("10.00"), 1, seller);
+        existing.setSku("A-1");
+        existing = productRepository.save(existing);
+
+        ProductImportJobDTO queued = importService.importCsv("seller", csv("""
+                id,sku,name,description,price,quantity
+                99,A-1,Atualizado,"Descrição, nova",12.5,3
+                ,B-2,Novo,Criado pela importação,7.00,4
+                ,C-3,Recusado,Preço com vírgula,"7,00",1
+                ,D-4,,Sem nome,1.00,1
+                ,B-2,Novo,Criado pela importação,8.00,4
+                """));
+
+        assertEquals(ProductImportJob.Status.QUEUED, queued.getStatus());
+        assertEquals(5, queued.getTotalRows());
+        assertEquals(2, queued.getInvalidRows());
+        // Só o primeiro erro é guardado (max-reported-errors = 1); a linha 1 é o cabeçalho
+        assertEquals(1, queued.getErrors().size());
+        assertEquals(4, queued.getErrors().get(0).getLine());
+        assertEquals("Preço inválido: 7,00", queued.getErrors().get(0).getMessage());
+
+        ProductImportJobDTO job = awaitJob(queued.getId());
+        assertEquals(ProductImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(1, job.getInsertedRows());
+        // B-2 criado no primeiro bloco e alterado no terceiro
+        assertEquals(2, job.getUpdatedRows());
+        assertNotNull(job.getFinishedAt());
+
+        Product updated = productRepository.findById(existing.getId()).orElseThrow();
+        assertEquals("Descrição, nova", updated.getDescription());
+        assertEquals(0, new BigDecimal("12.50").compareTo(updated.getPrice()));
+        Product created = productRepository.findByCreatedByIdAndSku(seller.getId(), "B-2").orElseThrow();
+        assertEquals(0, new BigDecimal("8.00").compareTo(created.getPrice()));
+        assertEquals(2, productRepository.count());
+        assertEquals(0, rowRepository.count());
+        assertEquals(2, sellerStatsService.getStatsByUserId(seller.getId()).getProductCount());
+        assertEquals(List.of(ProductOutboxEntry.Type.UPDATED, ProductOutboxEntry.Type.CREATED,
+                        ProductOutboxEntry.Type.UPDATED),
+                outboxRepository.findAll().stream().map(ProductOutboxEntry::getType).toList());
+    }
+
+    @Test
+    void naoDeveAlterarProdutosSemMudancas() throws Exception {
+        Product existing = new Product(null, "Igual", "Mesma descrição", new BigDecimal("10.00"), 1, seller);
+        existing.setSku("A-1");
+        productRepository.save(existing);
+
+        ProductImportJobDTO job = awaitJob(importService.importCsv("seller", csv("""
+                sku,name,description,price,quantity
+                A-1,Igual,Mesma descrição,10,1
+                """)).getId());
+
+        assertEquals(ProductImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(0, job.getUpdatedRows());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void deveRecusarSoALinhaComPrecoNegativoEnorme() throws Exception {
+        String hugePrice = "-1" + "0".repeat(10_000);
+
+        ProductImportJobDTO queued = importService.importCsv("seller", csv("sku,name,description,price,quantity\n"
+                + "A-1,Recusado,Preço gigante," + hugePrice + ",1\n"
+                + "B-2,Aceito,Preço normal,5.00,1\n"));
+
+        assertEquals(1, queued.getInvalidRows());
+        assertEquals(1, queued.getErrors().size());
+        String message = queued.getErrors().get(0).getMessage();
+        assertTrue(message.startsWith("Preço negativo: -1000"));
+        assertTrue(message.length() <= ProductImportError.MESSAGE_LENGTH);
+
+        ProductImportJobDTO job = awaitJob(queued.getId());
+        assertEquals(ProductImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getInsertedRows());
+    }
+
+    @Test
+    void deveRecusarSoALinhaComCaractereDeControle() throws Exception {
+        ProductImportJobDTO queued = importService.importCsv("seller", csv("sku,name,description,price,quantity\n"
+                + "A-1,Nome\u0000nulo,Descrição,1.00,1\n"
+                + "B-2,Aceito,\"Duas\nlinhas\tcom tab\",5.00,1\n"));
+
+        assertEquals(1, queued.getInvalidRows());
+        assertEquals(2, queued.getErrors().get(0).getLine());
+        assertEquals("Campo name com caractere de controle U+0000.", queued.getErrors().get(0).getMessage());
+
+        ProductImportJobDTO job = awaitJob(queued.getId());
+        assertEquals(ProductImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals("Duas\nlinhas\tcom tab",
+                productRepository.findByCreatedByIdAndSku(seller.getId(), "B-2").orElseThrow().getDescription());
+    }
+
+    @Test
+    void deveLimitarMotivoDoErroAoTamanhoDaColuna() {
+        ProductImportError error = new ProductImportError(1L, 2, "x".repeat(ProductImportError.MESSAGE_LENGTH + 1));
+
+        assertEquals(ProductImportError.MESSAGE_LENGTH, error.getMessage().length());
+    }
+
+    @Test
+    void deveRecusarCabecalhoSemColunaObrigatoriaSemCriarJob() {
+        assertThrows(IllegalArgumentException.class, () -> importService.importCsv("seller",
+                csv("sku,name,price,quantity\nA-1,Produto,1.00,1\n")));
+        assertThrows(IllegalArgumentException.class, () -> importService.importCsv("seller", csv("")));
+        assertEquals(0, jobRepository.count());
+    }
+
+    @Test
+    void deveMarcarJobComoFalhoQuandoOArquivoEstaMalFormado() {
+        assertThrows(IllegalArgumentException.class, () -> importService.importCsv("seller", csv("""
+                sku,name,description,price,quantity
+                A-1,"Sem fechamento,Descrição,1.00,1
+                """)));
+
+        ProductImportJob job = jobRepository.findAll().get(0);
+        assertEquals(ProductImportJob.Status.FAILED, job.getStatus());
+        assertTrue(job.getMessage().contains("aspas sem fechamento"));
+        assertEquals(0, rowRepository.count());
+    }
+
+    @Test
+    void deveRestringirImportacaoEConsultaAoSellerEAdmins() throws Exception {
+        userRepository.save(new User(null, "customer", "password", Role.CUSTOMER));
+        userRepository.save(new User(null, "outro", "password", Role.SELLER));
+        userRepository.save(new User(null, "admin", "password", Role.ADMIN));
+
+        assertThrows(UserNotAllowedException.class, () -> importService.importCsv("customer",
+                csv("sku,name,description,price,quantity\n")));
+
+        Long jobId = awaitJob(importService.importCsv("seller", csv("sku,name,description,price,quantity\n"))
+                .getId()).getId();
+        assertThrows(ProductOwnershipException.class, () -> importService.getJob(jobId, "outro"));
+        assertEquals(ProductImportJob.Status.COMPLETED, importService.getJob(jobId, "admin").getStatus());
+    }
+
+    private ProductImportJobDTO awaitJob(Long id) throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return importService.getJob(id, "seller");
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.api.metrics;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class DataSourceProxyRuntimeHintsTest {
+
+    @Test
+    void deveRegistrarOsProxiesCriadosPeloDatasourceProxy() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new DataSourceProxyRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+        // As interfaces (e a ordem) dos proxies reais precisam bater com as registradas
+        Connection proxiedConnection = ProxyDataSourceBuilder.create(target).build().getConnection();
+        PreparedStatement proxiedStatement = proxiedConnection.prepareStatement("SELECT 1");
+
+        for (Object proxy : new Object[]{proxiedConnection, proxiedStatement}) {
+            Class<?>[] interfaces = proxy.getClass().getInterfaces();
+            assertEquals(ProxyJdbcObject.class, interfaces[0]);
+            assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(interfaces).test(hints),
+                    Arrays.toString(interfaces));
+        }
+    }
+}
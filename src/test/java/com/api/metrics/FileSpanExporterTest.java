@@ -0,0 +1,50 @@
+package com.api.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void deveGravarUmSpanPorLinhaComOPai() throws Exception {
+        Path file = tempDir.resolve("traces/spans.jsonl");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        Tracer tracer = tracerProvider.get("teste");
+
+        Span parent = tracer.spanBuilder("GET /products/mine").startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("query").setAttribute("jdbc.query[0]", "select 1").startSpan().end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertEquals("query", child.get("name").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals("select 1", child.get("attributes").get("jdbc.query[0]").asText());
+        assertTrue(root.get("parentSpanId").isNull());
+    }
+}
@@ -0,0 +1,154 @@
+package com.api.metrics;
+
+import com.api.cache.CacheInvalidationProperties;
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.controller.UserController;
+import com.api.enums.Role;
+import com.api.events.ProductEventOutbox;
+import com.api.events.ProductOutboxProperties;
+import com.api.model.Product;
+import com.api.model.User;
+import com.api.repository.ProductOutboxRepository;
+import com.api.repository.ProductRepository;
+import com.api.repository.ProductTombstoneRepository;
+import com.api.repository.RevokedTokenRepository;
+import com.api.repository.SellerProductStatsRepository;
+import com.api.repository.UserRepository;
+import com.api.security.JwtProperties;
+import com.api.service.ProductChangeFeedService;
+import com.api.service.ProductReadCoalescer;
+import com.api.service.ProductService;
+import com.api.service.SellerStatsService;
+import com.api.service.TokenRevocationService;
+import com.api.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante um número máximo de comandos SQL nos caminhos mais usados, pegando regressões como N+1.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(QueryBudgetConfig.class)
+class QueryBudgetTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerProductStatsRepository statsRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private ProductOutboxRepository productOutboxRepository;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductService productService;
+    private UserController userController;
+    private User seller;
+    private Principal adminPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        // Desativado por padrão: não publica nada
+        CacheInvalidationPublisher invalidationPublisher = new CacheInvalidationPublisher(null,
+                new CacheInvalidationProperties(), new SimpleMeterRegistry());
+        productService = new ProductService(productRepository, userRepository,
+                new ProductReadCoalescer(transactionManager, new SimpleMeterRegistry(), 500),
+                new SellerStatsService(statsRepository, userRepository), invalidationPublisher,
+                new ProductEventOutbox(productOutboxRepository, new ObjectMapper(), new ProductOutboxProperties()),
+                new ProductChangeFeedService(productRepository, tombstoneRepository, 0, Duration.ofDays(30)));
+        TokenRevocationService tokenRevocationService =
+                new TokenRevocationService(revokedTokenRepository, new JwtProperties(), new SimpleMeterRegistry(), 60000);
+        userController = new UserController(new UserService(userRepository, new BCryptPasswordEncoder(),
+                invalidationPublisher, tokenRevocationService),
+                new SellerStatsService(statsRepository, userRepository));
+
+        User admin = userRepository.save(new User(null, "adminUser", "password", Role.ADMIN));
+        adminPrincipal = admin::getUsername;
+        for (int s = 0; s < 3; s++) {
+            User user = userRepository.save(new User(null, "seller" + s, "password", Role.SELLER));
+            if (s == 0) {
+                seller = user;
+            }
+            for (int p = 0; p < 5; p++) {
+                productRepository.save(new Product(null, "Produto " + s + "-" + p, "Descrição",
+                        new BigDecimal("10.00"), 5, user));
+            }
+        }
+
+        // Força as leituras a irem ao banco, sem contexto de persistência nem cache de segundo nível
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    void listagemPaginadaNaoDeveFazerUmSelectPorCriador() {
+        assertMaxStatements(2, () -> productService.getAllProducts(0, 10, new String[]{"name", "asc"}));
+    }
+
+    @Test
+    void produtosPorUsuarioDevemUsarUmaConsulta() {
+        // Papel do criador verificado na própria consulta da página
+        assertMaxStatements(1, () -> productService.getProductsByUser(seller.getId(), 0, 50));
+        assertMaxStatements(1, () -> productService.getMyProducts(seller.getUsername(), 0, 50));
+    }
+
+    @Test
+    void buscaEmLoteDeveUsarUmaConsultaParaProdutosEOutraParaCriadores() {
+        List<Long> ids = productRepository.findAll().stream().map(Product::getId).toList();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        assertMaxStatements(2, () -> productService.getProductsByIds(ids));
+    }
+
+    @Test
+    void listagemOrdenadaPorPrecoDeveUsarUmaConsulta() {
+        assertMaxStatements(1, () -> productService.getProductsSorted("asc"));
+    }
+
+    @Test
+    void endpointsDeAdminDevemRespeitarOOrcamento() {
+        assertMaxStatements(2, () -> userController.listAllUsers(adminPrincipal));
+        entityManager.clear();
+        assertMaxStatements(2, () -> userController.getUserById(seller.getId(), adminPrincipal));
+    }
+
+    private void assertMaxStatements(int max, java.util.function.Supplier<?> action) {
+        RequestDbStats stats = RequestDbStats.capture(action);
+        assertTrue(stats.getStatementCount() <= max,
+                "Esperado no máximo " + max + " comandos SQL, executados " + stats.getStatementCount()
+                        + ": " + stats.mostRepeated(5));
+    }
+}
@@ -0,0 +1,65 @@
+package com.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        QueryBudgetProperties queryBudget = new QueryBudgetProperties();
+        queryBudget.setMaxStatementsPerRequest(1);
+        filter = new RequestMetricsFilter(meterRegistry, queryBudget);
+    }
+
+    @Test
+    void deveRegistrarComandosETempoDeBancoPorEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestDbStats stats = RequestDbStats.current();
+            stats.statementStarted();
+            stats.statementFinished("select p from products p where p.id=?");
+            stats.statementStarted();
+            stats.statementFinished("select u from users u where u.id=?");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/products/{id}");
+        });
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.db.statements")
+                .tag("uri", "/products/{id}").tag("method", "GET").summary();
+        Timer dbTime = meterRegistry.get("http.server.requests.db.time").tag("uri", "/products/{id}").timer();
+
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(1, dbTime.count());
+        assertNull(RequestDbStats.current(), "As estatísticas não devem vazar para a próxima requisição da thread");
+    }
+
+    @Test
+    void deveAgruparComandosRepetidosNormalizados() {
+        RequestDbStats stats = RequestDbStats.capture(() -> {
+            for (int id = 1; id <= 3; id++) {
+                RequestDbStats.current().statementStarted();
+                RequestDbStats.current().statementFinished(SqlNormalizer.normalize("select * from users where id = " + id));
+            }
+            return null;
+        });
+
+        assertEquals(3, stats.getStatementCount());
+        assertEquals("select * from users where id = ?", stats.mostRepeated(1).get(0).getKey());
+        assertEquals(3, stats.mostRepeated(1).get(0).getValue());
+        assertNull(RequestDbStats.current());
+    }
+}
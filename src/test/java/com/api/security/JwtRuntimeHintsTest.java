@@ -0,0 +1,37 @@
+package com.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void deveRegistrarAsImplementacoesCarregadasPorNome() {
+        for (String type : JwtRuntimeHints.IMPL_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+        }
+    }
+
+    @Test
+    void classesRegistradasDevemExistirNaVersaoDoJjwt() {
+        // Pega renomeações ao atualizar o jjwt, que só apareceriam na execução da imagem nativa
+        for (String type : JwtRuntimeHints.IMPL_TYPES) {
+            assertDoesNotThrow(() -> Class.forName(type), type);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilTest {
 
+    private static final String SECRET = "segredo-de-testes-segredo-de-testes-0123";
+    private static final String NEW_SECRET = "segredo-novo-de-testes-segredo-novo-4567";
+
     private JwtUtil jwtUtil;
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
+        jwtUtil = new JwtUtil(properties(SECRET));
     }
 
     @Test
@@ -18,6 +27,66 @@ class JwtUtilTest {
         String token = jwtUtil.generateToken("testuser", "ROLE_USER");
 
         assertNotNull(token);
-        assertTrue(jwtUtil.validateToken(token, "testuser"));
+        assertEquals("testuser", jwtUtil.parseToken(token).getSubject());
+    }
+
+    @Test
+    void deveIncluirJtiDiferenteEmCadaToken() {
+        String first = jwtUtil.generateToken("testuser", "ROLE_USER");
+        String second = jwtUtil.generateToken("testuser", "ROLE_USER");
+
+        assertNotNull(jwtUtil.parseToken(first).getId());
+        assertNotEquals(jwtUtil.parseToken(first).getId(), jwtUtil.parseToken(second).getId());
+    }
+
+    @Test
+    void deveAceitarTokenDeOutraInstanciaComOMesmoSegredo() {
+        String token = new JwtUtil(properties(SECRET)).generateToken("testuser", "ROLE_USER");
+
+        assertEquals("testuser", jwtUtil.parseToken(token).getSubject());
+    }
+
+    @Test
+    void deveAceitarTokenDoSegredoAnteriorDepoisDaTroca() {
+        JwtProperties rotated = properties(NEW_SECRET);
+        rotated.setPreviousSecrets(List.of(SECRET));
+        JwtUtil afterRotation = new JwtUtil(rotated);
+
+        String oldToken = jwtUtil.generateToken("testuser", "ROLE_USER");
+
+        assertEquals("testuser", afterRotation.parseToken(oldToken).getSubject());
+        // Tokens novos saem com a chave nova, que a configuração antiga não conhece
+        String newToken = afterRotation.generateToken("testuser", "ROLE_USER");
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(newToken));
+    }
+
+    @Test
+    void deveRecusarTokenDeChaveDesconhecida() {
+        String token = new JwtUtil(properties(NEW_SECRET)).generateToken("testuser", "ROLE_USER");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void deveDistinguirRefreshTokenDeTokenDeAcesso() {
+        String refreshToken = jwtUtil.generateRefreshToken("testuser");
+        String accessToken = jwtUtil.generateToken("testuser", "ROLE_USER");
+
+        Claims claims = jwtUtil.parseRefreshToken(refreshToken);
+        assertEquals("testuser", claims.getSubject());
+        assertTrue(jwtUtil.isRefreshToken(claims));
+        assertFalse(jwtUtil.isRefreshToken(jwtUtil.parseToken(accessToken)));
+        assertThrows(UnsupportedJwtException.class, () -> jwtUtil.parseRefreshToken(accessToken));
+    }
+
+    @Test
+    void deveRecusarSegredoCurto() {
+        assertThrows(IllegalStateException.class, () -> new JwtUtil(properties("curto")));
+    }
+
+    private static JwtProperties properties(String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        return properties;
     }
 }
@@ -0,0 +1,127 @@
+package com.api.service;
+
+import com.api.dto.ProductChangeDTO;
+import com.api.dto.ProductChangesResponse;
+import com.api.enums.Role;
+import com.api.exception.ChangeCursorExpiredException;
+import com.api.model.Product;
+import com.api.model.User;
+import com.api.repository.ProductRepository;
+import com.api.repository.ProductTombstoneRepository;
+import com.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feed de alterações contra o banco: ordem, paginação pelo cursor e exclusões.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ProductChangeFeedServiceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ProductChangeFeedService feed;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ProductChangeFeedService(productRepository, tombstoneRepository, 0, Duration.ofDays(30));
+        seller = userRepository.save(new User(null, "seller", "password", Role.SELLER));
+    }
+
+    @Test
+    void deveEntregarAlteracoesEExclusoesEmOrdemComOEstadoMaisRecente() {
+        Product first = create("Primeiro");
+        Product second = create("Segundo");
+        first.setQuantity(99);
+        productRepository.saveAndFlush(first);
+        feed.productDeleted(second);
+        productRepository.delete(second);
+        productRepository.flush();
+
+        ProductChangesResponse response = feed.getChanges(null, 100);
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                response.getChanges().stream().map(ProductChangeDTO::getId).toList());
+        ProductChangeDTO updated = response.getChanges().get(0);
+        assertEquals(ProductChangeDTO.Type.UPSERT, updated.getType());
+        assertEquals(99, updated.getProduct().getQuantity());
+        ProductChangeDTO deleted = response.getChanges().get(1);
+        assertEquals(ProductChangeDTO.Type.DELETE, deleted.getType());
+        assertNull(deleted.getProduct());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void devePaginarPeloCursorSemRepetirNemPularAlteracoes() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(create("Produto " + i).getId());
+        }
+
+        List<Long> received = new ArrayList<>();
+        String cursor = null;
+        ProductChangesResponse response;
+        do {
+            response = feed.getChanges(cursor, 2);
+            response.getChanges().forEach(change -> received.add(change.getId()));
+            cursor = response.getNextCursor();
+        } while (response.isHasMore());
+
+        assertEquals(created, received);
+        // Sem novas escritas, o mesmo cursor não devolve nada
+        assertTrue(feed.getChanges(cursor, 2).getChanges().isEmpty());
+    }
+
+    @Test
+    void deveEntregarSomenteAlteracoesDepoisDoCursor() {
+        create("Antigo");
+        String cursor = feed.getChanges(null, 100).getNextCursor();
+
+        Product recent = create("Novo");
+
+        ProductChangesResponse response = feed.getChanges(cursor, 100);
+        assertEquals(List.of(recent.getId()), response.getChanges().stream().map(ProductChangeDTO::getId).toList());
+    }
+
+    @Test
+    void naoDeveEntregarAlteracoesDentroDaJanelaDeEstabilizacao() {
+        ProductChangeFeedService settling = new ProductChangeFeedService(productRepository, tombstoneRepository,
+                60_000, Duration.ofDays(30));
+        create("Recente");
+
+        assertTrue(settling.getChanges(null, 100).getChanges().isEmpty());
+    }
+
+    @Test
+    void deveRecusarCursorInvalidoOuExpirado() {
+        String expired = new ProductChangeFeedService.Cursor(Instant.now().minus(Duration.ofDays(31)), 1).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> feed.getChanges("não-é-cursor", 100));
+        assertThrows(ChangeCursorExpiredException.class, () -> feed.getChanges(expired, 100));
+        assertThrows(IllegalArgumentException.class, () -> feed.getChanges(null, ProductChangeFeedService.MAX_LIMIT + 1));
+    }
+
+    private Product create(String name) {
+        return productRepository.saveAndFlush(new Product(null, name, "Descrição", new BigDecimal("10.00"), 1, seller));
+    }
+}
@@ -0,0 +1,91 @@
+package com.api.service;
+
+import com.api.enums.Role;
+import com.api.model.Product;
+import com.api.model.User;
+import com.api.repository.ProductRepository;
+import com.api.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exportação pelo ResultSet (caminho usado fora do PostgreSQL): formato CSV e NDJSON e escape dos valores.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ProductExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ProductExportService exportService;
+    private Product notebook;
+    private Product cabo;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProductExportService(entityManager, objectMapper, 2);
+        User seller = userRepository.save(new User(null, "seller", "password", Role.SELLER));
+        notebook = new Product(null, "Notebook", "Tela 16\", 32GB, SSD", new BigDecimal("4500.00"), 3, seller);
+        notebook.setSku("NB-16");
+        notebook = productRepository.save(notebook);
+        cabo = productRepository.save(new Product(null, "Cabo", "Linha 1\nLinha 2", new BigDecimal("9.90"), 10, null));
+        productRepository.flush();
+    }
+
+    @Test
+    void deveExportarCsvComCabecalhoEValoresEscapados() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ProductExportService.Format.CSV, out);
+
+        assertEquals(2, rows);
+        assertEquals("id,sku,name,description,price,quantity,createdBy\n"
+                        + notebook.getId() + ",NB-16,Notebook,\"Tela 16\"\", 32GB, SSD\",4500.00,3,seller\n"
+                        + cabo.getId() + ",,Cabo,\"Linha 1\nLinha 2\",9.90,10,\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void deveExportarUmObjetoJsonPorLinha() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ProductExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        // Mesma saída do row_to_json usado no PostgreSQL
+        assertEquals("{\"id\":" + notebook.getId() + ",\"sku\":\"NB-16\",\"name\":\"Notebook\",\"description\":\"Tela 16\\\", 32GB, SSD\","
+                + "\"price\":4500.00,\"quantity\":3,\"createdBy\":\"seller\"}", lines[0]);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("Linha 1\nLinha 2", second.get("description").asText());
+        assertTrue(second.get("createdBy").isNull());
+    }
+
+    @Test
+    void deveRecusarFormatoDesconhecido() {
+        assertEquals(ProductExportService.Format.NDJSON, ProductExportService.Format.of("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> ProductExportService.Format.of("xml"));
+    }
+}
@@ -1,29 +1,45 @@
 package com.api.service;
 
+import com.api.cache.CacheInvalidationPublisher;
+import com.api.dto.ProductBatchResponse;
 import com.api.dto.ProductDTO;
+import com.api.events.ProductEventOutbox;
 import com.api.enums.Role;
 import com.api.exception.ProductNotFoundException;
+import com.api.exception.ProductOwnershipException;
+import com.api.exception.ProductSkuAlreadyExistsException;
+import com.api.exception.UserNotAllowedException;
+import com.api.exception.UserNotFoundException;
 import com.api.model.Product;
+import com.api.model.ProductOutboxEntry;
 import com.api.model.User;
 import com.api.repository.ProductRepository;
 import com.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage // Mockito não roda na imagem nativa
 class ProductServiceTest {
 
     @Mock
@@ -32,6 +48,22 @@ class ProductServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SellerStatsService sellerStatsService;
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Mock
+    private ProductEventOutbox productEventOutbox;
+
+    @Mock
+    private ProductChangeFeedService changeFeedService;
+
+    @Spy
+    private ProductReadCoalescer readCoalescer =
+            new ProductReadCoalescer(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 500);
+
     @InjectMocks
     private ProductService productService;
 
@@ -99,25 +131,74 @@ class ProductServiceTest {
     }
 
     @Test
-    void deveBuscarProdutosPorUsuarioQuePodeCadastrarProdutos() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sellerUser));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(adminUser));
+    void deveBuscarProdutosEmLoteNaOrdemInformada() {
+        Product outro = new Product(2L, "Outro Produto", "Descrição", new BigDecimal("50.0"), 3, sellerUser);
+        when(productRepository.findAllByIdInOrder(List.of(2L, 99L, 1L))).thenReturn(Arrays.asList(outro, null, product));
+
+        ProductBatchResponse result = productService.getProductsByIds(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.getProducts().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(99L), result.getMissingIds());
+    }
+
+    @Test
+    void deveLancarExcecaoAoBuscarLoteAcimaDoLimite() {
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(ids));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void deveLancarExcecaoAoBuscarLoteComIdVazio() {
+        List<Long> ids = Arrays.asList(1L, null, 2L);
 
-        when(productRepository.findByCreatedBy(sellerUser)).thenReturn(List.of(product));
-        when(productRepository.findByCreatedBy(adminUser)).thenReturn(List.of(product));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(ids));
+        verifyNoInteractions(productRepository);
+    }
 
-        List<ProductDTO> sellerProducts = productService.getProductsByUser(1L);
-        List<ProductDTO> adminProducts = productService.getProductsByUser(2L);
+    @Test
+    void deveBuscarProdutosPorUsuarioQuePodeCadastrarProdutos() {
+        when(productRepository.findPageByCreator(eq(1L), anyCollection(), eq(0L), eq(Limit.of(50))))
+                .thenReturn(List.of(product));
+        when(productRepository.findPageByCreator(eq(2L), anyCollection(), eq(0L), eq(Limit.of(50))))
+                .thenReturn(List.of(product));
+
+        List<ProductDTO> sellerProducts = productService.getProductsByUser(1L, 0, 50);
+        List<ProductDTO> adminProducts = productService.getProductsByUser(2L, 0, 50);
 
         assertFalse(sellerProducts.isEmpty(), "A lista de produtos do sellerUser não deveria estar vazia!");
         assertFalse(adminProducts.isEmpty(), "A lista de produtos do adminUser não deveria estar vazia!");
+        // Página com produtos dispensa a busca do usuário
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaDeSellerSemMaisProdutos() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(sellerUser));
+
+        assertTrue(productService.getProductsByUser(1L, 100, 50).isEmpty());
     }
 
     @Test
     void deveLancarExcecaoAoBuscarProdutosDeUsuarioInexistente() {
         when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> productService.getProductsByUser(99L));
+        assertThrows(UserNotFoundException.class, () -> productService.getProductsByUser(99L, 0, 50));
+    }
+
+    @Test
+    void deveLancarExcecaoAoBuscarProdutosDeCustomer() {
+        when(userRepository.findById(3L)).thenReturn(Optional.of(customerUser));
+
+        assertThrows(UserNotAllowedException.class, () -> productService.getProductsByUser(3L, 0, 50));
+    }
+
+    @Test
+    void deveLancarExcecaoComTamanhoDePaginaInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductsByUser(1L, 0, ProductService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> productService.getMyProducts("sellerUser", 0, 0));
     }
 
     @Test
@@ -143,18 +224,31 @@ class ProductServiceTest {
 
         assertNotNull(createdProduct);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(sellerStatsService).productAdded(1L, new BigDecimal("100.0"), 10);
+        verify(productEventOutbox).record(ProductOutboxEntry.Type.CREATED, product);
+    }
+
+    @Test
+    void deveLancarExcecaoAoCriarProdutoComSkuJaCadastradoPeloSeller() {
+        productDTO.setSku(" CAM-01 ");
+        when(productRepository.existsByCreatedByIdAndSku(1L, "CAM-01")).thenReturn(true);
+
+        assertThrows(ProductSkuAlreadyExistsException.class, () -> productService.createProduct(productDTO, "sellerUser"));
+        verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(productEventOutbox);
     }
 
     @Test
     void deveLancarExcecaoAoCriarProdutoComoCustomer() {
-        assertThrows(RuntimeException.class, () -> productService.createProduct(productDTO, "customerUser"));
+        assertThrows(UserNotAllowedException.class, () -> productService.createProduct(productDTO, "customerUser"));
+        verifyNoInteractions(productEventOutbox);
     }
 
     @Test
     void deveBuscarProdutosDoProprioUsuario() {
-        when(productRepository.findByCreatedBy(sellerUser)).thenReturn(List.of(product));
+        when(productRepository.findPageByCreatorUsername("sellerUser", 0L, Limit.of(50))).thenReturn(List.of(product));
 
-        List<ProductDTO> products = productService.getMyProducts("sellerUser");
+        List<ProductDTO> products = productService.getMyProducts("sellerUser", 0, 50);
 
         assertFalse(products.isEmpty());
         assertEquals(1, products.size());
@@ -169,11 +263,14 @@ class ProductServiceTest {
         assertEquals("Nova Descrição", product.getDescription());
         assertEquals(new BigDecimal("120.0"), product.getPrice());
         assertEquals(15, product.getQuantity());
+        verify(cacheInvalidationPublisher).productChanged(1L);
+        verify(productEventOutbox).record(ProductOutboxEntry.Type.UPDATED, product);
     }
 
     @Test
     void deveLancarExcecaoAoAtualizarProdutoDeOutroUsuario() {
-        assertThrows(RuntimeException.class, () -> productService.updateProduct(1L, updatedDetailsDTO, "outroUsuario"));
+        assertThrows(ProductOwnershipException.class, () -> productService.updateProduct(1L, updatedDetailsDTO, "outroUsuario"));
+        verifyNoInteractions(cacheInvalidationPublisher, productEventOutbox);
     }
 
     @Test
@@ -182,11 +279,14 @@ class ProductServiceTest {
 
         verify(productRepository, times(1)).save(product);
         assertEquals(15, product.getQuantity());
+        verify(sellerStatsService).productChanged(1L, new BigDecimal("100.0"), 10, new BigDecimal("100.0"), 15);
+        verify(cacheInvalidationPublisher).productChanged(1L);
+        verify(productEventOutbox).record(ProductOutboxEntry.Type.STOCK_CHANGED, product);
     }
 
     @Test
     void deveLancarExcecaoAoAtualizarEstoqueDeOutroUsuario() {
-        assertThrows(RuntimeException.class, () -> productService.updateProductStock(1L, 5, "outroUsuario"));
+        assertThrows(ProductOwnershipException.class, () -> productService.updateProductStock(1L, 5, "outroUsuario"));
     }
 
     @Test
@@ -196,11 +296,16 @@ class ProductServiceTest {
 
         assertDoesNotThrow(() -> productService.deleteProduct(1L, adminUser.getUsername()));
         verify(productRepository, times(2)).deleteById(1L);
+        verify(sellerStatsService, times(2)).productRemoved(1L, new BigDecimal("100.0"), 10);
+        verify(cacheInvalidationPublisher, times(2)).productChanged(1L);
+        verify(productEventOutbox, times(2)).record(ProductOutboxEntry.Type.DELETED, product);
+        verify(changeFeedService, times(2)).productDeleted(product);
     }
 
     @Test
     void deveLancarExcecaoAoExcluirProdutoDeOutroUsuario() {
-        assertThrows(RuntimeException.class, () -> productService.deleteProduct(1L, "outroUsuario"));
+        assertThrows(ProductOwnershipException.class, () -> productService.deleteProduct(1L, "outroUsuario"));
+        verifyNoInteractions(changeFeedService);
     }
 
     @Test
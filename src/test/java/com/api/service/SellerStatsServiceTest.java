@@ -0,0 +1,113 @@
+package com.api.service;
+
+import com.api.dto.SellerProductStatsDTO;
+import com.api.enums.Role;
+import com.api.model.Product;
+import com.api.model.SellerProductStats;
+import com.api.model.User;
+import com.api.repository.ProductRepository;
+import com.api.repository.SellerProductStatsRepository;
+import com.api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere o resumo mantido incrementalmente contra a agregação direta da tabela de produtos.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class SellerStatsServiceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerProductStatsRepository statsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private SellerStatsService sellerStatsService;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        sellerStatsService = new SellerStatsService(statsRepository, userRepository);
+        seller = userRepository.save(new User(null, "seller", "password", Role.SELLER));
+    }
+
+    @Test
+    void devePreencherOResumoNaPrimeiraEscritaEAplicarAsSeguintes() {
+        // Produtos anteriores ao resumo
+        productRepository.save(new Product(null, "Antigo", "Descrição", new BigDecimal("20.00"), 2, seller));
+
+        Product cheap = create("Barato", "5.00", 10);
+        Product expensive = create("Caro", "300.00", 1);
+        assertStatsMatchAggregate();
+        assertEquals(3, stats().getProductCount());
+        assertEquals(0, new BigDecimal("5.00").compareTo(stats().getMinPrice()));
+
+        // Alteração de estoque e de preço do produto que era o mais caro (como em ProductService: altera, depois resume)
+        cheap = productRepository.findById(cheap.getId()).orElseThrow();
+        cheap.setQuantity(4);
+        sellerStatsService.productChanged(seller.getId(), cheap.getPrice(), 10, cheap.getPrice(), 4);
+        expensive = productRepository.findById(expensive.getId()).orElseThrow();
+        BigDecimal oldPrice = expensive.getPrice();
+        expensive.setPrice(new BigDecimal("50.00"));
+        sellerStatsService.productChanged(seller.getId(), oldPrice, 1, expensive.getPrice(), 1);
+        assertStatsMatchAggregate();
+        assertEquals(0, new BigDecimal("50.00").compareTo(stats().getMaxPrice()));
+
+        // Exclusão do mais barato
+        productRepository.deleteById(cheap.getId());
+        sellerStatsService.productRemoved(seller.getId(), cheap.getPrice(), cheap.getQuantity());
+        assertStatsMatchAggregate();
+        assertEquals(0, new BigDecimal("20.00").compareTo(stats().getMinPrice()));
+    }
+
+    @Test
+    void deveCalcularOResumoNaLeituraQuandoAindaNaoFoiGravado() {
+        productRepository.save(new Product(null, "A", "Descrição", new BigDecimal("10.00"), 3, seller));
+        productRepository.save(new Product(null, "B", "Descrição", new BigDecimal("30.00"), 1, seller));
+
+        SellerProductStatsDTO summary = sellerStatsService.getSummary("seller");
+
+        assertEquals(2, summary.getProductCount());
+        assertEquals(4, summary.getTotalQuantity());
+        assertEquals(0, new BigDecimal("60.00").compareTo(summary.getTotalStockValue()));
+        assertFalse(statsRepository.existsById(seller.getId()));
+    }
+
+    private Product create(String name, String price, int quantity) {
+        Product product = productRepository.save(new Product(null, name, "Descrição", new BigDecimal(price), quantity, seller));
+        sellerStatsService.productAdded(seller.getId(), product.getPrice(), product.getQuantity());
+        return product;
+    }
+
+    private SellerProductStats stats() {
+        entityManager.flush();
+        entityManager.clear();
+        return statsRepository.findById(seller.getId()).orElseThrow();
+    }
+
+    private void assertStatsMatchAggregate() {
+        SellerProductStats stored = stats();
+        SellerProductStats expected = statsRepository.aggregate(seller.getId());
+        assertEquals(expected.getProductCount(), stored.getProductCount());
+        assertEquals(expected.getTotalQuantity(), stored.getTotalQuantity());
+        assertEquals(0, expected.getTotalStockValue().compareTo(stored.getTotalStockValue()));
+        assertEquals(0, expected.getMinPrice().compareTo(stored.getMinPrice()));
+        assertEquals(0, expected.getMaxPrice().compareTo(stored.getMaxPrice()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicInteger timedOut = new AtomicInteger();
+
+    private SingleFlight<Long, String> singleFlight(Duration maxWait) {
+        return new SingleFlight<>(maxWait, outcome -> {
+            if (outcome == SingleFlight.Outcome.COALESCED) {
+                coalesced.incrementAndGet();
+            } else {
+                timedOut.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    void chamadasSimultaneasDevemCompartilharUmCarregamento() throws Exception {
+        SingleFlight<Long, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "produto-1";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    return "outro";
+                })));
+            }
+            // Dá tempo para as chamadas entrarem na espera antes de liberar o carregamento
+            Thread.sleep(200);
+            release.countDown();
+
+            assertEquals("produto-1", leader.get());
+            for (Future<String> follower : followers) {
+                assertEquals("produto-1", follower.get());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(20, coalesced.get());
+    }
+
+    @Test
+    void deveCarregarDiretoQuandoAEsperaPassaDoLimite() throws Exception {
+        SingleFlight<Long, String> singleFlight = singleFlight(Duration.ofMillis(50));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                loading.countDown();
+                await(release);
+                return "lento";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            assertEquals("direto", singleFlight.execute(1L, () -> "direto"));
+            release.countDown();
+        }
+
+        assertEquals(1, timedOut.get());
+    }
+
+    @Test
+    void deveRepassarAExcecaoDoCarregamentoParaQuemEspera() throws Exception {
+        SingleFlight<Long, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("falhou");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "nunca"));
+            Thread.sleep(100);
+            release.countDown();
+
+            Exception e = assertThrows(Exception.class, follower::get);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void chamadasSequenciaisNaoDevemReaproveitarResultado() {
+        SingleFlight<Long, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+
+        assertEquals("a", singleFlight.execute(1L, () -> "a"));
+        assertEquals("b", singleFlight.execute(1L, () -> "b"));
+        assertEquals(0, coalesced.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.api.service;
+
+import com.api.model.RevokedToken;
+import com.api.repository.RevokedTokenRepository;
+import com.api.security.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage // Mockito não roda na imagem nativa
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, new JwtProperties(), meterRegistry, 60000);
+    }
+
+    @Test
+    void deveRecusarTokenRevogadoNoLogout() {
+        Date expiration = Date.from(Instant.now().plus(Duration.ofMinutes(30)));
+
+        when(revokedTokenRepository.insertTokenIfAbsent(eq("jti-1"), any(), any())).thenReturn(1);
+
+        tokenRevocationService.revokeToken("jti-1", expiration);
+
+        verify(revokedTokenRepository).insertTokenIfAbsent(eq("jti-1"), any(), eq(expiration.toInstant()));
+        assertTrue(tokenRevocationService.isRevoked("jti-1", "user", new Date()));
+        assertFalse(tokenRevocationService.isRevoked("jti-2", "user", new Date()));
+        assertEquals(1.0, meterRegistry.get("security.jwt.revoked").counter().count());
+    }
+
+    @Test
+    void deveRecusarTokensEmitidosAntesDaRevogacaoDoUsuario() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(5));
+
+        tokenRevocationService.revokeUserTokens("excluido");
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1", "excluido", issuedBefore));
+        assertFalse(tokenRevocationService.isRevoked("jti-2", "excluido", Date.from(Instant.now().plusSeconds(5))));
+        assertFalse(tokenRevocationService.isRevoked("jti-3", "outro", issuedBefore));
+    }
+
+    @Test
+    void deveInformarQueOTokenJaEstavaRevogadoQuandoOutraRequisicaoGravouAntes() {
+        Date expiration = Date.from(Instant.now().plus(Duration.ofMinutes(30)));
+        // A segunda gravação do mesmo jti não insere nada (NOT EXISTS)
+        when(revokedTokenRepository.insertTokenIfAbsent(eq("refresh-1"), any(), eq(expiration.toInstant())))
+                .thenReturn(1, 0);
+
+        assertTrue(tokenRevocationService.revokeToken("refresh-1", expiration));
+        assertFalse(tokenRevocationService.revokeToken("refresh-1", expiration));
+    }
+
+    @Test
+    void deveInformarQueOTokenJaEstavaRevogadoQuandoAChaveUnicaRecusaAGravacaoSimultanea() {
+        Date expiration = Date.from(Instant.now().plus(Duration.ofMinutes(30)));
+        when(revokedTokenRepository.insertTokenIfAbsent(eq("refresh-1"), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_revoked_tokens_token_key"));
+
+        assertFalse(tokenRevocationService.revokeToken("refresh-1", expiration));
+    }
+
+    @Test
+    void deveIgnorarTokenSemJti() {
+        assertFalse(tokenRevocationService.revokeToken(null, new Date()));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void deveCarregarRevogacoesGravadasPorOutrasInstancias() {
+        Instant revokedAt = Instant.now().minusSeconds(1);
+        when(revokedTokenRepository.findActiveSince(eq(Instant.EPOCH), any())).thenReturn(List.of(
+                new RevokedToken(RevokedToken.Kind.TOKEN, "jti-remoto", revokedAt, revokedAt.plusSeconds(600)),
+                new RevokedToken(RevokedToken.Kind.USER, "remoto", revokedAt, revokedAt.plusSeconds(3600))));
+
+        tokenRevocationService.sync();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-remoto", "user", new Date()));
+        assertTrue(tokenRevocationService.isRevoked("jti", "remoto", Date.from(revokedAt.minusSeconds(10))));
+        assertEquals(1.0, meterRegistry.get("security.jwt.revocations").tag("kind", "token").gauge().value());
+    }
+
+    @Test
+    void deveSincronizarApenasAPartirDaUltimaLeituraComMargem() {
+        Instant revokedAt = Instant.now().minusSeconds(1);
+        when(revokedTokenRepository.findActiveSince(any(), any())).thenReturn(List.of(
+                new RevokedToken(RevokedToken.Kind.TOKEN, "jti", revokedAt, revokedAt.plusSeconds(600))));
+
+        tokenRevocationService.sync();
+        tokenRevocationService.sync();
+
+        // A segunda leitura parte da primeira, recuando a margem de 60s
+        verify(revokedTokenRepository).findActiveSince(eq(Instant.EPOCH), any());
+        verify(revokedTokenRepository).findActiveSince(argThat(since -> since.isAfter(revokedAt.minusSeconds(60))
+                && since.isBefore(Instant.now().minusSeconds(59))), any());
+    }
+}
@@ -1,5 +1,6 @@
 package com.api.service;
 
+import com.api.cache.CacheInvalidationPublisher;
 import com.api.dto.AuthRequest;
 import com.api.enums.Role;
 import com.api.exception.UserAlreadyExistsException;
@@ -8,6 +9,7 @@ import com.api.model.User;
 import com.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -21,6 +23,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage // Mockito não roda na imagem nativa
 class UserServiceTest {
 
     @Mock
@@ -29,6 +32,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -86,6 +95,8 @@ class UserServiceTest {
 
         assertEquals("newuser", user.getUsername());
         assertEquals("hashedpassword", user.getPassword());
+        verify(tokenRevocationService).revokeUserTokens("testuser");
+        verify(cacheInvalidationPublisher).userChanged(1L);
     }
 
     @ParameterizedTest
@@ -110,6 +121,8 @@ class UserServiceTest {
         userService.deleteUserByUsername("testuser", user);
 
         verify(userRepository, times(1)).delete(user);
+        verify(tokenRevocationService).revokeUserTokens("testuser");
+        verify(cacheInvalidationPublisher).userChanged(1L);
     }
 
     @ParameterizedTest
@@ -137,19 +150,21 @@ class UserServiceTest {
     void deveExcluirUsuarioPorId() {
         User adminUser = new User(99L, "admin", "password", Role.ADMIN);
 
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        User user = new User(1L, "testuser", "password", Role.CUSTOMER);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         userService.deleteUserById(1L, adminUser);
 
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, times(1)).delete(user);
+        verify(tokenRevocationService).revokeUserTokens("testuser");
+        verify(cacheInvalidationPublisher).userChanged(1L);
     }
 
     @Test
     void deveLancarExcecaoAoExcluirUsuarioInexistente() {
         User adminUser = new User(99L, "admin", "password", Role.ADMIN);
 
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.deleteUserById(1L, adminUser));
     }